@@ -5,19 +5,24 @@ import edu.cit.citforums.repository.ForumRepository;
 import edu.cit.citforums.repository.PostRepository;
 import edu.cit.citforums.repository.ThreadRepository;
 import edu.cit.citforums.service.*;
+import edu.cit.citforums.service.search.SearchBackend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 @ComponentScan(
     basePackages = {
         "edu.cit.citforums.config",
         "edu.cit.citforums.controller",
         "edu.cit.citforums.controllers",
         "edu.cit.citforums.models",
+        "edu.cit.citforums.monitoring",
         "edu.cit.citforums.repository",
         "edu.cit.citforums.repositories",
         "edu.cit.citforums.security",
@@ -38,16 +43,20 @@ public class ForumApplication {
                 PostRepository postRepository,
                 ThreadService threadService,
                 MemberService memberService,
-                CommentService commentService) {
-            return new PostServiceImpl(postRepository, threadService, memberService, commentService);
+                CommentService commentService,
+                SearchBackend searchBackend,
+                ApplicationEventPublisher eventPublisher) {
+            return new PostServiceImpl(postRepository, threadService, memberService, commentService, searchBackend, eventPublisher);
         }
         
         @Bean
         public CommentService commentService(
                 CommentRepository commentRepository,
                 PostRepository postRepository,
-                MemberService memberService) {
-            return new CommentServiceImpl(commentRepository, postRepository, memberService);
+                MemberService memberService,
+                ThreadService threadService,
+                ApplicationEventPublisher eventPublisher) {
+            return new CommentServiceImpl(commentRepository, postRepository, memberService, threadService, eventPublisher);
         }
     }
 }
\ No newline at end of file
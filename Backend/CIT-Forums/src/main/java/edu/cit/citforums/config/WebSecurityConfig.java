@@ -1,8 +1,11 @@
 package edu.cit.citforums.config;
 
 import edu.cit.citforums.security.JwtAuthenticationFilter;
+import edu.cit.citforums.security.OffloadingPasswordEncoder;
+import edu.cit.citforums.security.RateLimitFilter;
 import edu.cit.citforums.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,7 +18,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.context.annotation.Primary;
@@ -38,6 +40,19 @@ public class WebSecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    // Defaults to one thread per core
+    @Value("${security.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -57,6 +72,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes on login when security.bcrypt.strength has been raised
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -72,6 +89,8 @@ public class WebSecurityConfig {
                 .requestMatchers("/auth/**", "/db-test/**", "/welcome/**", "/basic-login/**").permitAll()
                 // API Auth paths
                 .requestMatchers("/api/auth/**").permitAll()
+                // Public token verification keys
+                .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                 // Forum endpoints - allow authenticated users to create forums
                 .requestMatchers(HttpMethod.GET, "/api/forums/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/forums/delete-first-general").permitAll()
@@ -112,6 +131,8 @@ public class WebSecurityConfig {
 
         // Add JWT filter
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // After the JWT filter, so writes can be limited per member
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
@@ -122,7 +143,9 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder() {
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength), bcryptStrength, threads, bcryptQueueCapacity);
     }
 } 
\ No newline at end of file
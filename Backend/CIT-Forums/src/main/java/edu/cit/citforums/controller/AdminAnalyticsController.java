@@ -1,48 +1,57 @@
 package edu.cit.citforums.controller;
 
+import edu.cit.citforums.dto.response.CohortRetentionDTO;
+import edu.cit.citforums.dto.response.ForumEngagementDTO;
+import edu.cit.citforums.dto.response.TimeSeriesDTO;
 import edu.cit.citforums.dto.response.UserActivityDTO;
-import edu.cit.citforums.repository.CommentRepository;
-import edu.cit.citforums.repository.MemberRepository;
-import edu.cit.citforums.repository.ThreadRepository;
+import edu.cit.citforums.service.analytics.ActivityExportService;
+import edu.cit.citforums.service.analytics.CohortRetentionService;
+import edu.cit.citforums.service.analytics.ActivityPeriod;
+import edu.cit.citforums.service.analytics.ForumEngagementService;
+import edu.cit.citforums.service.analytics.PeriodSeries;
+import edu.cit.citforums.service.analytics.UserActivitySeries;
+import edu.cit.citforums.service.analytics.UserActivityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/analytics")
 @Tag(name = "Analytics", description = "Platform analytics and statistics endpoints")
 public class AdminAnalyticsController {
 
-    private final MemberRepository memberRepository;
-    private final ThreadRepository threadRepository;
-    private final CommentRepository commentRepository;
+    private final UserActivityService userActivityService;
+    private final ActivityExportService activityExportService;
+    private final ForumEngagementService forumEngagementService;
+    private final CohortRetentionService cohortRetentionService;
 
     @Autowired
     public AdminAnalyticsController(
-            MemberRepository memberRepository,
-            ThreadRepository threadRepository,
-            CommentRepository commentRepository) {
-        this.memberRepository = memberRepository;
-        this.threadRepository = threadRepository;
-        this.commentRepository = commentRepository;
+            UserActivityService userActivityService,
+            ActivityExportService activityExportService,
+            ForumEngagementService forumEngagementService,
+            CohortRetentionService cohortRetentionService) {
+        this.userActivityService = userActivityService;
+        this.activityExportService = activityExportService;
+        this.forumEngagementService = forumEngagementService;
+        this.cohortRetentionService = cohortRetentionService;
     }
 
     @GetMapping("/user-activity")
@@ -60,23 +69,8 @@ public class AdminAnalyticsController {
             @Parameter(description = "Group by (day, week, month)")
             @RequestParam(defaultValue = "day") String groupBy) {
         
-        // Convert dates to LocalDateTime for querying
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-        
-        // Map groupBy to SQL date format strings
-        String dateFormat;
-        switch (groupBy.toLowerCase()) {
-            case "week":
-                dateFormat = "'YYYY-\"W\"WW'";  // Format as YYYY-Www
-                break;
-            case "month":
-                dateFormat = "'YYYY-MM'";      // Format as YYYY-MM
-                break;
-            case "day":
-            default:
-                dateFormat = "'YYYY-MM-DD'";   // Format as YYYY-MM-DD
-                break;
+        if (!isValidRange(startDate, endDate)) {
+            return ResponseEntity.badRequest().build();
         }
         
         // Prepare result DTO
@@ -85,160 +79,110 @@ public class AdminAnalyticsController {
         result.setEndDate(endDate.format(DateTimeFormatter.ISO_DATE));
         result.setGroupBy(groupBy);
         
-        // Get new user registrations by period
-        Map<String, Integer> newUserRegistrations = getNewUserRegistrationsByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        result.setNewUserRegistrations(newUserRegistrations);
-        
-        // Get thread creation metrics by period
-        Map<String, Integer> threadCreations = getThreadCreationsByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        result.setThreadCreations(threadCreations);
-        
-        // Get comment metrics by period
-        Map<String, Integer> commentCreations = getCommentCreationsByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        result.setCommentCreations(commentCreations);
-        
-        // Calculate active users (users who posted threads or comments)
-        Map<String, Integer> activeUsers = getActiveUsersByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        result.setActiveUsers(activeUsers);
+        // All four series are produced together
+        UserActivitySeries series = userActivityService.getUserActivity(
+                startDate, endDate, ActivityPeriod.fromGroupBy(groupBy));
+        result.setNewUserRegistrations(toTimeSeries(series.getRegistrations()));
+        result.setThreadCreations(toTimeSeries(series.getThreads()));
+        result.setCommentCreations(toTimeSeries(series.getComments()));
+        result.setActiveUsers(toTimeSeries(series.getActiveUsers()));
         
         return ResponseEntity.ok(result);
     }
     
-    private Map<String, Integer> getNewUserRegistrationsByPeriod(
-            LocalDateTime startDateTime, LocalDateTime endDateTime, String dateFormat) {
-        // Get counts of new user registrations by period
-        List<Object[]> registrationCounts = memberRepository.countRegistrationsByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        
-        // Convert to map format
-        Map<String, Integer> result = new HashMap<>();
-        for (Object[] count : registrationCounts) {
-            String period = count[0].toString();
-            Integer countValue = ((Number) count[1]).intValue();
-            result.put(period, countValue);
-        }
-        
-        return fillMissingPeriods(result, startDateTime, endDateTime, periodFromDateFormat(dateFormat));
+    private static boolean isValidRange(LocalDate startDate, LocalDate endDate) {
+        return !endDate.isBefore(startDate)
+                && ChronoUnit.DAYS.between(startDate, endDate) + 1 <= UserActivityService.MAX_DAYS;
     }
     
-    private Map<String, Integer> getThreadCreationsByPeriod(
-            LocalDateTime startDateTime, LocalDateTime endDateTime, String dateFormat) {
-        // Get counts of thread creations by period
-        List<Object[]> threadCounts = threadRepository.countThreadsByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        
-        // Convert to map format
-        Map<String, Integer> result = new HashMap<>();
-        for (Object[] count : threadCounts) {
-            String period = count[0].toString();
-            Integer countValue = ((Number) count[1]).intValue();
-            result.put(period, countValue);
-        }
-        
-        return fillMissingPeriods(result, startDateTime, endDateTime, periodFromDateFormat(dateFormat));
+    private TimeSeriesDTO toTimeSeries(PeriodSeries series) {
+        return new TimeSeriesDTO(
+                series.getFirstPeriodStart().format(DateTimeFormatter.ISO_DATE),
+                series.getPeriod().name().toLowerCase(),
+                series.getValues());
     }
     
-    private Map<String, Integer> getCommentCreationsByPeriod(
-            LocalDateTime startDateTime, LocalDateTime endDateTime, String dateFormat) {
-        // Get counts of comment creations by period
-        List<Object[]> commentCounts = commentRepository.countCommentsByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        
-        // Convert to map format
-        Map<String, Integer> result = new HashMap<>();
-        for (Object[] count : commentCounts) {
-            String period = count[0].toString();
-            Integer countValue = ((Number) count[1]).intValue();
-            result.put(period, countValue);
-        }
-        
-        return fillMissingPeriods(result, startDateTime, endDateTime, periodFromDateFormat(dateFormat));
+    @GetMapping("/forum-engagement")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get forum engagement metrics",
+        description = "Time to first reply, replies per thread and thread lifetime percentiles per forum",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<List<ForumEngagementDTO>> getForumEngagement() {
+        return ResponseEntity.ok(forumEngagementService.getForumEngagement());
     }
     
-    private Map<String, Integer> getActiveUsersByPeriod(
-            LocalDateTime startDateTime, LocalDateTime endDateTime, String dateFormat) {
-        // Get counts of active users by period
-        List<Object[]> activeUserCounts = memberRepository.countActiveUsersByPeriod(
-                startDateTime, endDateTime, dateFormat);
-        
-        // Convert to map format
-        Map<String, Integer> result = new HashMap<>();
-        for (Object[] count : activeUserCounts) {
-            String period = count[0].toString();
-            Integer countValue = ((Number) count[1]).intValue();
-            result.put(period, countValue);
-        }
+    @GetMapping("/cohort-retention")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get weekly cohort retention",
+        description = "For each registration week, how many of its members created a thread or comment in each following week",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<List<CohortRetentionDTO>> getCohortRetention(
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Number of weeks after registration to report (1 to 52)")
+            @RequestParam(defaultValue = "12") int weeks) {
         
-        return fillMissingPeriods(result, startDateTime, endDateTime, periodFromDateFormat(dateFormat));
-    }
-    
-    private String periodFromDateFormat(String sqlDateFormat) {
-        // Convert SQL date format to Java period type
-        if (sqlDateFormat.contains("WW")) {
-            return "week";
-        } else if (sqlDateFormat.contains("MM") && !sqlDateFormat.contains("DD")) {
-            return "month";
-        } else {
-            return "day";
+        if (weeks < 1 || weeks > CohortRetentionService.MAX_WEEKS || endDate.isBefore(startDate)
+                || ActivityPeriod.WEEK.periodCount(startDate, endDate) > CohortRetentionService.MAX_COHORTS) {
+            return ResponseEntity.badRequest().build();
         }
+        return ResponseEntity.ok(cohortRetentionService.getRetention(startDate, endDate, weeks));
     }
     
-    private Map<String, Integer> fillMissingPeriods(
-            Map<String, Integer> data, 
-            LocalDateTime startDateTime, 
-            LocalDateTime endDateTime, 
-            String groupBy) {
-        
-        // Generate all period labels between start and end date
-        List<String> allPeriods = generatePeriodLabels(startDateTime, endDateTime, groupBy);
-        
-        // Fill in missing periods with zero values
-        Map<String, Integer> result = new HashMap<>();
-        for (String period : allPeriods) {
-            result.put(period, data.getOrDefault(period, 0));
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Export activity data",
+        description = "Stream the per-period activity series or the raw registration, thread and comment events as CSV or NDJSON",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> exportActivity(
+            @Parameter(description = "What to export (series, events)")
+            @RequestParam(defaultValue = "series") String dataset,
+            @Parameter(description = "Output format (csv, ndjson)")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Group by for the series (day, week, month)")
+            @RequestParam(defaultValue = "day") String groupBy,
+            @Parameter(description = "Compress the download with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        ActivityExportService.Format exportFormat;
+        try {
+            exportFormat = ActivityExportService.Format.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        
-        return result;
-    }
-    
-    private List<String> generatePeriodLabels(
-            LocalDateTime startDateTime, 
-            LocalDateTime endDateTime, 
-            String groupBy) {
-        
-        List<String> periods = new ArrayList<>();
-        LocalDateTime current = startDateTime;
-        
-        DateTimeFormatter formatter;
-        switch (groupBy.toLowerCase()) {
-            case "week":
-                formatter = DateTimeFormatter.ofPattern("yyyy-'W'ww");
-                while (current.isBefore(endDateTime)) {
-                    periods.add(current.format(formatter));
-                    current = current.plusWeeks(1);
-                }
-                break;
-            case "month":
-                formatter = DateTimeFormatter.ofPattern("yyyy-MM");
-                while (current.isBefore(endDateTime)) {
-                    periods.add(current.format(formatter));
-                    current = current.plusMonths(1);
-                }
-                break;
-            case "day":
-            default:
-                formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                while (current.isBefore(endDateTime)) {
-                    periods.add(current.format(formatter));
-                    current = current.plusDays(1);
-                }
-                break;
+        boolean events = "events".equalsIgnoreCase(dataset);
+        if ((!events && !"series".equalsIgnoreCase(dataset)) || !isValidRange(startDate, endDate)) {
+            return ResponseEntity.badRequest().build();
         }
         
-        return periods;
+        StreamingResponseBody body = events
+                ? out -> activityExportService.writeEvents(out, gzip, exportFormat, startDate, endDate)
+                : out -> activityExportService.writeSeries(out, gzip, exportFormat, startDate, endDate,
+                        ActivityPeriod.fromGroupBy(groupBy));
+        
+        String extension = exportFormat == ActivityExportService.Format.CSV ? "csv" : "ndjson";
+        String filename = "activity-" + dataset.toLowerCase() + "-" + startDate + "-" + endDate + "." + extension
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(exportFormat == ActivityExportService.Format.CSV
+                        ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,11 +1,26 @@
 package edu.cit.citforums.controller;
 
+import edu.cit.citforums.dto.response.AllocationStatsResponse;
+import edu.cit.citforums.dto.response.ConnectionPoolStatsResponse;
+import edu.cit.citforums.dto.response.EndpointLatencyResponse;
 import edu.cit.citforums.dto.response.MemoryUsageResponse;
+import edu.cit.citforums.dto.response.PasswordHashingStatsResponse;
+import edu.cit.citforums.dto.response.RateLimitStatsResponse;
+import edu.cit.citforums.dto.response.SqlStatsResponse;
 import edu.cit.citforums.dto.response.SystemStatusResponse;
+import edu.cit.citforums.dto.response.UserCacheStatsResponse;
+import edu.cit.citforums.monitoring.AllocationTrackingFilter;
+import edu.cit.citforums.monitoring.ConnectionPoolMonitor;
+import edu.cit.citforums.monitoring.GcMonitor;
+import edu.cit.citforums.monitoring.QueryCountFilter;
+import edu.cit.citforums.monitoring.RequestLatencyFilter;
 import edu.cit.citforums.repository.CommentRepository;
 import edu.cit.citforums.repository.ForumRepository;
 import edu.cit.citforums.repository.MemberRepository;
 import edu.cit.citforums.repository.ThreadRepository;
+import edu.cit.citforums.security.OffloadingPasswordEncoder;
+import edu.cit.citforums.security.RateLimitFilter;
+import edu.cit.citforums.service.CustomUserDetailsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -28,6 +43,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -39,6 +55,14 @@ public class AdminMonitorController {
     private final ThreadRepository threadRepository;
     private final CommentRepository commentRepository;
     private final MemberRepository memberRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final RateLimitFilter rateLimitFilter;
+    private final RequestLatencyFilter requestLatencyFilter;
+    private final QueryCountFilter queryCountFilter;
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+    private final AllocationTrackingFilter allocationTrackingFilter;
+    private final GcMonitor gcMonitor;
     private final Instant startTime = Instant.now();
 
     @Autowired
@@ -46,11 +70,27 @@ public class AdminMonitorController {
             ForumRepository forumRepository,
             ThreadRepository threadRepository,
             CommentRepository commentRepository,
-            MemberRepository memberRepository) {
+            MemberRepository memberRepository,
+            CustomUserDetailsService userDetailsService,
+            OffloadingPasswordEncoder passwordEncoder,
+            RateLimitFilter rateLimitFilter,
+            RequestLatencyFilter requestLatencyFilter,
+            QueryCountFilter queryCountFilter,
+            ConnectionPoolMonitor connectionPoolMonitor,
+            AllocationTrackingFilter allocationTrackingFilter,
+            GcMonitor gcMonitor) {
         this.forumRepository = forumRepository;
         this.threadRepository = threadRepository;
         this.commentRepository = commentRepository;
         this.memberRepository = memberRepository;
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+        this.rateLimitFilter = rateLimitFilter;
+        this.requestLatencyFilter = requestLatencyFilter;
+        this.queryCountFilter = queryCountFilter;
+        this.connectionPoolMonitor = connectionPoolMonitor;
+        this.allocationTrackingFilter = allocationTrackingFilter;
+        this.gcMonitor = gcMonitor;
     }
 
     @GetMapping("/health")
@@ -165,6 +205,91 @@ public class AdminMonitorController {
         response.setTotalMemory(Runtime.getRuntime().totalMemory() / (1024 * 1024));
         response.setFreeMemory(Runtime.getRuntime().freeMemory() / (1024 * 1024));
         
+        // Garbage collection and the endpoints allocating the most
+        response.setGc(gcMonitor.getStats());
+        response.setTopAllocatingEndpoints(allocationTrackingFilter.getAllocations(5));
+        
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/user-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get authentication user cache statistics",
+        description = "Returns the size, hit rate and evictions of the cache of members loaded for login and token revalidation",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<UserCacheStatsResponse> getUserCacheStats() {
+        return ResponseEntity.ok(userDetailsService.getCacheStats());
+    }
+
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get password hashing statistics",
+        description = "Returns the BCrypt executor's load, rejections and queue/hash latency for logins and password encoding",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<PasswordHashingStatsResponse> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.getStats());
+    }
+
+    @GetMapping("/rate-limits")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get rate limiting statistics",
+        description = "Returns each rate-limited route with its limits and how many requests were allowed and rejected",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<List<RateLimitStatsResponse>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimitFilter.getStats());
+    }
+
+    @GetMapping("/latency")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get per-endpoint latency",
+        description = "Returns request counts, error rates and p50/p90/p99/p99.9 latency for each endpoint over the last minute, "
+                + "the last five minutes and since startup, slowest first",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<List<EndpointLatencyResponse>> getEndpointLatency() {
+        return ResponseEntity.ok(requestLatencyFilter.getLatencies());
+    }
+
+    @GetMapping("/sql")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get per-endpoint SQL statement counts",
+        description = "Returns statements and database time per request for each endpoint, and how many requests "
+                + "looked like N+1 queries, heaviest first",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<List<SqlStatsResponse>> getSqlStats() {
+        return ResponseEntity.ok(queryCountFilter.getStats());
+    }
+
+    @GetMapping("/connection-pool")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get database connection pool statistics",
+        description = "Returns active/idle/pending connections, acquisition wait and usage time percentiles, "
+                + "and a recommended pool size based on recent demand",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ConnectionPoolStatsResponse> getConnectionPoolStats() {
+        return ResponseEntity.ok(connectionPoolMonitor.getStats());
+    }
+
+    @GetMapping("/allocation")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get per-endpoint allocation and GC statistics",
+        description = "Returns heap allocated per endpoint since startup, largest first, with GC pause times, "
+                + "young collection frequency and the allocation rate",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<AllocationStatsResponse> getAllocationStats() {
+        return ResponseEntity.ok(new AllocationStatsResponse(gcMonitor.getStats(), allocationTrackingFilter.getAllocations(0)));
+    }
 } 
\ No newline at end of file
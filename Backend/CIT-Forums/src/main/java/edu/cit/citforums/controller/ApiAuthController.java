@@ -3,10 +3,15 @@ package edu.cit.citforums.controller;
 import edu.cit.citforums.dto.MemberDto;
 import edu.cit.citforums.dto.request.LoginRequest;
 import edu.cit.citforums.dto.request.MemberRegistrationRequest;
+import edu.cit.citforums.dto.request.RefreshTokenRequest;
 import edu.cit.citforums.dto.response.ApiResponse;
 import edu.cit.citforums.dto.response.JwtAuthResponse;
 import edu.cit.citforums.security.JwtTokenProvider;
+import edu.cit.citforums.security.MemberPrincipal;
 import edu.cit.citforums.service.MemberService;
+import edu.cit.citforums.service.RefreshTokenService;
+import edu.cit.citforums.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -30,18 +35,15 @@ public class ApiAuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @PostMapping("/register")
     public ResponseEntity<MemberDto> registerMember(@Valid @RequestBody MemberRegistrationRequest registrationRequest) {
-        // Check if username already exists
-        if(memberService.existsByName(registrationRequest.getName())) {
-            throw new RuntimeException("Username is already taken!");
-        }
-        
-        // Check if email already exists
-        if(memberService.existsByEmail(registrationRequest.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
-        }
-        
+        // Taken names and emails are rejected by the insert itself (409)
         MemberDto registeredMember = memberService.registerMember(registrationRequest);
         return new ResponseEntity<>(registeredMember, HttpStatus.CREATED);
     }
@@ -59,7 +61,37 @@ public class ApiAuthController {
 
         // Get token from token provider
         String token = tokenProvider.generateToken(authentication);
+        String refreshToken = refreshTokenService.issue(((MemberPrincipal) authentication.getPrincipal()).getId());
+
+        return ResponseEntity.ok(new JwtAuthResponse(token, refreshToken, tokenProvider.getExpirationSeconds()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtAuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        // Access tokens are short-lived; each refresh picks up the member's current roles
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+        String token = tokenProvider.generateTokenFromMember(rotation.member());
+
+        return ResponseEntity.ok(new JwtAuthResponse(token, rotation.refreshToken(), tokenProvider.getExpirationSeconds()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(refreshRequest.getRefreshToken());
+        }
+
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        Claims claims = tokenProvider.parseToken(token);
+        if (claims == null || claims.getId() == null) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "A valid, revocable token is required"));
+        }
 
-        return ResponseEntity.ok(new JwtAuthResponse(token));
+        // The token stops working immediately, not just when it expires
+        tokenRevocationService.revoke(claims);
+        SecurityContextHolder.clearContext();
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out"));
     }
 } 
\ No newline at end of file
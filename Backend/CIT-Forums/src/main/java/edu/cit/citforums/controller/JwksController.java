@@ -0,0 +1,69 @@
+package edu.cit.citforums.controller;
+
+import edu.cit.citforums.security.SigningKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@Tag(name = "JWKS", description = "Public keys for verifying access tokens")
+public class JwksController {
+
+    // P-256 coordinates are 32 bytes
+    private static final int COORDINATE_BYTES = 32;
+
+    private final SigningKeyRing keyRing;
+
+    @Autowired
+    public JwksController(SigningKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+        summary = "Get the JSON Web Key Set",
+        description = "Public ES256 keys that verify current access tokens, including the next key before it starts signing"
+    )
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (SigningKeyRing.RingKey key : keyRing.publishedKeys()) {
+            ECPublicKey publicKey = key.publicKey();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", key.kid());
+            jwk.put("x", base64Url(publicKey.getW().getAffineX()));
+            jwk.put("y", base64Url(publicKey.getW().getAffineY()));
+            keys.add(jwk);
+        }
+
+        // Well under the publish-ahead period, so verifiers see a new key before it signs
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+
+    private static String base64Url(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        // toByteArray may add a sign byte or drop leading zeros
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
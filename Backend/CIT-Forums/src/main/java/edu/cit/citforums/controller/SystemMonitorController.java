@@ -1,32 +1,45 @@
 package edu.cit.citforums.controller;
 
+import edu.cit.citforums.dto.response.FlightRecordingResponse;
+import edu.cit.citforums.monitoring.FlightRecorderService;
 import edu.cit.citforums.repository.CommentRepository;
 import edu.cit.citforums.repository.ForumRepository;
 import edu.cit.citforums.repository.MemberRepository;
 import edu.cit.citforums.repository.ThreadRepository;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -38,17 +51,20 @@ public class SystemMonitorController {
     private final ThreadRepository threadRepository;
     private final CommentRepository commentRepository;
     private final MemberRepository memberRepository;
+    private final FlightRecorderService flightRecorderService;
 
     @Autowired
     public SystemMonitorController(
             ForumRepository forumRepository,
             ThreadRepository threadRepository,
             CommentRepository commentRepository,
-            MemberRepository memberRepository) {
+            MemberRepository memberRepository,
+            FlightRecorderService flightRecorderService) {
         this.forumRepository = forumRepository;
         this.threadRepository = threadRepository;
         this.commentRepository = commentRepository;
         this.memberRepository = memberRepository;
+        this.flightRecorderService = flightRecorderService;
     }
 
     @GetMapping("/legacy-health")
@@ -140,6 +156,85 @@ public class SystemMonitorController {
         return ResponseEntity.ok(memoryStats);
     }
     
+    @PostMapping("/jfr/recordings")
+    @Operation(
+            summary = "Start a flight recording",
+            description = "Starts a Java Flight Recorder recording that stops itself after the given duration and is saved "
+                    + "for download. Only one recording runs at a time.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingResponse> startRecording(
+            @Parameter(description = "JFR settings profile: default (low overhead) or profile (more detail)")
+            @RequestParam(defaultValue = "profile") String profile,
+            @Parameter(description = "How long to record, in seconds")
+            @RequestParam(defaultValue = "60") long durationSeconds) {
+        try {
+            return new ResponseEntity<>(
+                    flightRecorderService.start(profile, Duration.ofSeconds(durationSeconds)), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/jfr/recordings/{id}/stop")
+    @Operation(
+            summary = "Stop a flight recording",
+            description = "Stops a running recording early and saves it for download",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingResponse> stopRecording(@PathVariable long id) {
+        FlightRecordingResponse stopped = flightRecorderService.stop(id);
+        return stopped != null ? ResponseEntity.ok(stopped) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/jfr/recordings")
+    @Operation(
+            summary = "List flight recordings",
+            description = "Lists the running recording, the continuous ring recording and saved recording files",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<FlightRecordingResponse>> listRecordings() {
+        return ResponseEntity.ok(flightRecorderService.list());
+    }
+
+    @PostMapping("/jfr/continuous/dump")
+    @Operation(
+            summary = "Dump the continuous flight recording",
+            description = "Saves the last minutes of the always-on ring recording to a file, e.g. right after an incident",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingResponse> dumpContinuousRecording() {
+        try {
+            return new ResponseEntity<>(flightRecorderService.dumpContinuous(), HttpStatus.CREATED);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/jfr/files/{fileName:.+}")
+    @Operation(
+            summary = "Download a flight recording",
+            description = "Streams a saved .jfr file, to open in JDK Mission Control or with the jfr tool",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable String fileName) {
+        Path file = flightRecorderService.file(fileName);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(new FileSystemResource(file));
+    }
+    
     // Helper methods
     private String formatBytes(long bytes) {
         // Convert bytes to MB
@@ -0,0 +1,21 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Allocation per endpoint alongside garbage collection activity")
+public class AllocationStatsResponse {
+
+    @Schema(description = "Garbage collection activity and allocation rate")
+    private GcStatsResponse gc;
+
+    @Schema(description = "Endpoints by bytes allocated since startup, largest first")
+    private List<EndpointAllocationResponse> endpoints;
+}
@@ -0,0 +1,26 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Retention of the members who registered in one week")
+public class CohortRetentionDTO {
+
+    @Schema(description = "Monday of the registration week (YYYY-MM-DD)", example = "2023-01-02")
+    private String cohortWeek;
+
+    @Schema(description = "Members who registered that week", example = "40")
+    private long cohortSize;
+
+    @Schema(description = "retained[i]: cohort members who created a thread or comment in week W+i+1; weeks not yet started are omitted",
+            example = "[22, 15, 12]")
+    private long[] retained;
+
+    @Schema(description = "retained[i] divided by the cohort size", example = "[0.55, 0.375, 0.3]")
+    private double[] retentionRates;
+}
@@ -0,0 +1,106 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Database connection pool state, timings since startup and a pool size recommendation")
+public class ConnectionPoolStatsResponse {
+
+    @Schema(description = "Hikari pool name", example = "HikariPool-1")
+    private String poolName;
+
+    @Schema(description = "Configured maximum pool size", example = "5")
+    private int maximumPoolSize;
+
+    @Schema(description = "Configured minimum idle connections", example = "2")
+    private int minimumIdle;
+
+    @Schema(description = "Connections currently borrowed", example = "3")
+    private int active;
+
+    @Schema(description = "Connections open and available", example = "2")
+    private int idle;
+
+    @Schema(description = "Threads waiting for a connection right now", example = "0")
+    private int pending;
+
+    @Schema(description = "Connections open", example = "5")
+    private int total;
+
+    @Schema(description = "Connections handed out", example = "52000")
+    private long acquisitions;
+
+    @Schema(description = "Borrowers that gave up after the connection timeout", example = "0")
+    private long timeouts;
+
+    @Schema(description = "Time spent waiting for a connection")
+    private Timing acquireWait;
+
+    @Schema(description = "Time a borrowed connection was held")
+    private Timing usage;
+
+    @Schema(description = "Time taken to open a new connection")
+    private Timing connectionCreation;
+
+    @Schema(description = "Pool size recommendation from recently observed demand")
+    private Sizing sizing;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Latency percentiles, in milliseconds")
+    public static class Timing {
+
+        @Schema(description = "Recorded operations", example = "52000")
+        private long count;
+
+        @Schema(description = "Median", example = "0.02")
+        private Double p50Ms;
+
+        @Schema(description = "90th percentile", example = "0.05")
+        private Double p90Ms;
+
+        @Schema(description = "99th percentile", example = "12.5")
+        private Double p99Ms;
+
+        @Schema(description = "Largest, rounded up to its histogram bucket", example = "210.0")
+        private Double maxMs;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Pool size advice from sampled demand and Little's law over the advice window")
+    public static class Sizing {
+
+        @Schema(description = "Suggested maximum-pool-size", example = "6")
+        private int recommendedPoolSize;
+
+        @Schema(description = "99th percentile of borrowed plus waiting connections, over samples where any were", example = "6")
+        private double p99Demand;
+
+        @Schema(description = "Highest sampled borrowed plus waiting connections", example = "9")
+        private int peakDemand;
+
+        @Schema(description = "Share of samples in which a thread was waiting for a connection", example = "0.04")
+        private double waitingSampleRatio;
+
+        @Schema(description = "Average connections in use by Little's law: acquisitions per second times mean hold time",
+                example = "1.8")
+        private double averageBusyConnections;
+
+        @Schema(description = "Upper bound from the database's cores: cores * 2 + 1", example = "9")
+        private int ceiling;
+
+        @Schema(description = "Samples the recommendation is based on", example = "3600")
+        private long samples;
+
+        @Schema(description = "Human-readable explanation of the recommendation")
+        private String advice;
+    }
+}
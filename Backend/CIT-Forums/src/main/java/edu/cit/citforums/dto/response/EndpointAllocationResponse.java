@@ -0,0 +1,38 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Heap allocated by one endpoint's request threads since startup")
+public class EndpointAllocationResponse {
+
+    @Schema(description = "HTTP method and matched path template", example = "GET /api/forums")
+    private String route;
+
+    @Schema(description = "Completed requests", example = "800")
+    private long requests;
+
+    @Schema(description = "Total allocated, in MB", example = "1240.5")
+    private double allocatedMb;
+
+    @Schema(description = "Share of all allocation attributed to endpoints", example = "0.31")
+    private double shareOfTotal;
+
+    @Schema(description = "Average allocated per request, in KB", example = "1587.8")
+    private double averageKb;
+
+    @Schema(description = "Median allocated per request, in KB", example = "1520.0")
+    private Double p50Kb;
+
+    @Schema(description = "99th percentile allocated per request, in KB", example = "4100.0")
+    private Double p99Kb;
+
+    @Schema(description = "Most allocated by a single request, in KB, rounded up to its histogram bucket",
+            example = "8190.0")
+    private Double maxKb;
+}
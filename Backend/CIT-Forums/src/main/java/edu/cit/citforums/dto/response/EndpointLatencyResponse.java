@@ -0,0 +1,59 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request latency of one endpoint over rolling windows and since startup")
+public class EndpointLatencyResponse {
+
+    @Schema(description = "HTTP method and matched path template", example = "GET /api/threads/{threadId}")
+    private String route;
+
+    @Schema(description = "About the last minute")
+    private Window lastMinute;
+
+    @Schema(description = "About the last five minutes")
+    private Window lastFiveMinutes;
+
+    @Schema(description = "Everything since startup")
+    private Window sinceStartup;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Request counts and latency percentiles for one window, in milliseconds")
+    public static class Window {
+
+        @Schema(description = "Completed requests", example = "4200")
+        private long requests;
+
+        @Schema(description = "Requests answered with a 5xx status or an unhandled exception", example = "3")
+        private long serverErrors;
+
+        @Schema(description = "Requests answered with a 4xx status", example = "41")
+        private long clientErrors;
+
+        @Schema(description = "Share of requests that were server errors", example = "0.0007")
+        private double errorRate;
+
+        @Schema(description = "Median latency", example = "4.1")
+        private Double p50Ms;
+
+        @Schema(description = "90th percentile latency", example = "9.8")
+        private Double p90Ms;
+
+        @Schema(description = "99th percentile latency", example = "31.5")
+        private Double p99Ms;
+
+        @Schema(description = "99.9th percentile latency", example = "120.0")
+        private Double p999Ms;
+
+        @Schema(description = "Slowest request, rounded up to its histogram bucket", example = "250.0")
+        private Double maxMs;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A Java Flight Recorder recording, running or saved to disk")
+public class FlightRecordingResponse {
+
+    @Schema(description = "JFR recording id, used to stop a running recording; null for saved files", example = "3")
+    private Long id;
+
+    @Schema(description = "Recording name", example = "recording-20240501-101500")
+    private String name;
+
+    @Schema(description = "RECORDING for on-demand recordings, CONTINUOUS for the ring recording, DUMP for dumps of it",
+            example = "RECORDING")
+    private String type;
+
+    @Schema(description = "JFR state: RUNNING while recording, STOPPED once saved", example = "RUNNING")
+    private String state;
+
+    @Schema(description = "JFR settings profile", example = "profile")
+    private String profile;
+
+    @Schema(description = "When the recording started, or when the file was written", example = "2024-05-01T10:15:00Z")
+    private String startedAt;
+
+    @Schema(description = "Planned duration for on-demand recordings, kept history for the ring recording", example = "60")
+    private Long durationSeconds;
+
+    @Schema(description = "Size on disk", example = "4194304")
+    private Long sizeBytes;
+
+    @Schema(description = "File to download from /api/admin/system/jfr/files/{fileName}; null until saved",
+            example = "recording-20240501-101500.jfr")
+    private String fileName;
+}
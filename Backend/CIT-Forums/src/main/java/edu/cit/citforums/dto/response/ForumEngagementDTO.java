@@ -0,0 +1,43 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Engagement metrics of one forum")
+public class ForumEngagementDTO {
+
+    @Schema(description = "Forum ID", example = "1")
+    private Long forumId;
+
+    @Schema(description = "Forum title", example = "General Discussion")
+    private String forumTitle;
+
+    @Schema(description = "Number of threads", example = "120")
+    private long threads;
+
+    @Schema(description = "Number of replies (posts and comments)", example = "950")
+    private long replies;
+
+    @Schema(description = "Average replies per thread", example = "7.9")
+    private double repliesPerThread;
+
+    @Schema(description = "Number of threads with at least one reply", example = "104")
+    private long threadsWithReplies;
+
+    @Schema(description = "Median time from thread creation to its first reply, in seconds", example = "1800")
+    private Double timeToFirstReplyP50Seconds;
+
+    @Schema(description = "90th percentile time to first reply, in seconds", example = "86400")
+    private Double timeToFirstReplyP90Seconds;
+
+    @Schema(description = "Median thread lifetime (creation to last reply), in seconds", example = "259200")
+    private Double threadLifetimeP50Seconds;
+
+    @Schema(description = "90th percentile thread lifetime, in seconds", example = "1209600")
+    private Double threadLifetimeP90Seconds;
+}
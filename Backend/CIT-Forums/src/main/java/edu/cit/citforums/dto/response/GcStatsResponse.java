@@ -0,0 +1,59 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Garbage collection activity and allocation rate, from GC notifications")
+public class GcStatsResponse {
+
+    @Schema(description = "Young-generation allocation rate over the last five minutes, in MB per second; "
+            + "null before two collections have been seen", example = "85.2")
+    private Double allocationRateMbPerSecond;
+
+    @Schema(description = "Allocated in the young generation since startup, in MB", example = "120400.5")
+    private double allocatedMbSinceStartup;
+
+    @Schema(description = "Young (minor) collections in the last minute", example = "14")
+    private int youngCollectionsLastMinute;
+
+    @Schema(description = "Young (minor) collections in the last five minutes", example = "70")
+    private int youngCollectionsLastFiveMinutes;
+
+    @Schema(description = "Per-collector pause statistics since startup")
+    private List<Collector> collectors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "One garbage collector; for concurrent collectors the durations are cycle times, not pauses")
+    public static class Collector {
+
+        @Schema(description = "Collector name", example = "G1 Young Generation")
+        private String name;
+
+        @Schema(description = "Collections since startup", example = "1520")
+        private long collections;
+
+        @Schema(description = "Total time collecting, in milliseconds", example = "9120")
+        private long totalPauseMs;
+
+        @Schema(description = "Median collection time, in milliseconds", example = "5.0")
+        private Double p50PauseMs;
+
+        @Schema(description = "99th percentile collection time, in milliseconds", example = "22.0")
+        private Double p99PauseMs;
+
+        @Schema(description = "Longest collection time, in milliseconds", example = "41")
+        private long maxPauseMs;
+
+        @Schema(description = "Cause of the latest collection", example = "G1 Evacuation Pause")
+        private String lastCause;
+    }
+}
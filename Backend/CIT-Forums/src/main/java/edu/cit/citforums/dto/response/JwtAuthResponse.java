@@ -12,8 +12,17 @@ import lombok.NoArgsConstructor;
 public class JwtAuthResponse {
     private String token;
     private String tokenType = "Bearer";
+    private String refreshToken;
+    // Lifetime of the access token in seconds
+    private long expiresIn;
     
     public JwtAuthResponse(String token) {
         this.token = token;
     }
+
+    public JwtAuthResponse(String token, String refreshToken, long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -24,4 +25,10 @@ public class MemoryUsageResponse {
     
     @Schema(description = "Free memory available to JVM in bytes", example = "138911992")
     private long freeMemory;
+    
+    @Schema(description = "Garbage collection pauses, young collection frequency and allocation rate")
+    private GcStatsResponse gc;
+    
+    @Schema(description = "The five endpoints that allocated the most since startup")
+    private List<EndpointAllocationResponse> topAllocatingEndpoints;
 } 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Password hashing executor statistics since startup")
+public class PasswordHashingStatsResponse {
+
+    @Schema(description = "BCrypt cost factor used for new hashes", example = "10")
+    private int strength;
+
+    @Schema(description = "Threads dedicated to password hashing", example = "4")
+    private int threads;
+
+    @Schema(description = "Threads hashing right now", example = "2")
+    private int active;
+
+    @Schema(description = "Operations waiting for a thread", example = "0")
+    private int queued;
+
+    @Schema(description = "Maximum number of waiting operations before requests are rejected with 503", example = "64")
+    private int queueCapacity;
+
+    @Schema(description = "Completed operations", example = "1520")
+    private long completed;
+
+    @Schema(description = "Operations rejected because the queue was full", example = "0")
+    private long rejected;
+
+    @Schema(description = "Password encoding (registration, password change, rehash)")
+    private Operation encode;
+
+    @Schema(description = "Password verification (login)")
+    private Operation matches;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Latency of one kind of hashing operation, in milliseconds")
+    public static class Operation {
+
+        @Schema(description = "Completed operations", example = "1200")
+        private long count;
+
+        @Schema(description = "Median time spent waiting in the queue", example = "0.1")
+        private Double queuedP50Ms;
+
+        @Schema(description = "99th percentile time spent waiting in the queue", example = "35.0")
+        private Double queuedP99Ms;
+
+        @Schema(description = "Median time spent hashing", example = "62.0")
+        private Double hashingP50Ms;
+
+        @Schema(description = "99th percentile time spent hashing", example = "80.0")
+        private Double hashingP99Ms;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Rate limit of one route and its counts since startup")
+public class RateLimitStatsResponse {
+
+    @Schema(description = "Route name used in the rate-limit.<route>.* properties", example = "login")
+    private String route;
+
+    @Schema(description = "HTTP method and path pattern", example = "POST /api/auth/login")
+    private String pattern;
+
+    @Schema(description = "Whether buckets are per member (falling back to IP) or per IP", example = "IP")
+    private String keyedBy;
+
+    @Schema(description = "Requests allowed in a burst", example = "10")
+    private int capacity;
+
+    @Schema(description = "Tokens added back per minute", example = "10")
+    private double refillPerMinute;
+
+    @Schema(description = "Requests let through", example = "1200")
+    private long allowed;
+
+    @Schema(description = "Requests rejected with 429", example = "35")
+    private long rejected;
+
+    @Schema(description = "Clients currently holding a partly drained bucket", example = "12")
+    private long trackedClients;
+}
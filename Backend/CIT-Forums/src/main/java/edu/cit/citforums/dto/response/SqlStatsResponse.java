@@ -0,0 +1,44 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "SQL statements executed by one endpoint since startup")
+public class SqlStatsResponse {
+
+    @Schema(description = "HTTP method and matched path template", example = "GET /api/forums")
+    private String route;
+
+    @Schema(description = "Completed requests", example = "800")
+    private long requests;
+
+    @Schema(description = "Statements executed by those requests", example = "16800")
+    private long statements;
+
+    @Schema(description = "Average statements per request", example = "21.0")
+    private double statementsPerRequest;
+
+    @Schema(description = "Most statements executed by a single request", example = "41")
+    private long maxStatements;
+
+    @Schema(description = "Total time spent executing statements, in milliseconds", example = "5120.4")
+    private double dbTimeMs;
+
+    @Schema(description = "Average time per request spent executing statements, in milliseconds", example = "6.4")
+    private double dbTimePerRequestMs;
+
+    @Schema(description = "Requests over the statement or repeat threshold", example = "800")
+    private long flaggedRequests;
+
+    @Schema(description = "Most repeated statement of the last flagged request",
+            example = "select count(*) from `thread` t1_0 where t1_0.`forum_id`=?")
+    private String lastRepeatedStatement;
+
+    @Schema(description = "How many times that request executed it", example = "20")
+    private int lastRepeatCount;
+}
@@ -0,0 +1,22 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Evenly spaced series: values[i] belongs to the i-th period after start")
+public class TimeSeriesDTO {
+
+    @Schema(description = "Start date of the first period (YYYY-MM-DD); weeks start on Monday", example = "2023-01-01")
+    private String start;
+
+    @Schema(description = "Length of each period (day, week, month)", example = "day")
+    private String granularity;
+
+    @Schema(description = "One value per period, in order", example = "[5, 3, 7]")
+    private long[] values;
+}
@@ -5,8 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Map;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,19 +20,15 @@ public class UserActivityDTO {
     @Schema(description = "Grouping interval (day, week, month)", example = "day")
     private String groupBy;
     
-    @Schema(description = "New user registrations by period", 
-           example = "{\"2023-01-01\": 5, \"2023-01-02\": 3, \"2023-01-03\": 7}")
-    private Map<String, Integer> newUserRegistrations;
+    @Schema(description = "New user registrations by period")
+    private TimeSeriesDTO newUserRegistrations;
     
-    @Schema(description = "Thread creations by period", 
-           example = "{\"2023-01-01\": 12, \"2023-01-02\": 8, \"2023-01-03\": 15}")
-    private Map<String, Integer> threadCreations;
+    @Schema(description = "Thread creations by period")
+    private TimeSeriesDTO threadCreations;
     
-    @Schema(description = "Comment creations by period", 
-           example = "{\"2023-01-01\": 45, \"2023-01-02\": 32, \"2023-01-03\": 67}")
-    private Map<String, Integer> commentCreations;
+    @Schema(description = "Comment creations by period")
+    private TimeSeriesDTO commentCreations;
     
-    @Schema(description = "Active users by period (users who posted or commented)", 
-           example = "{\"2023-01-01\": 18, \"2023-01-02\": 14, \"2023-01-03\": 22}")
-    private Map<String, Integer> activeUsers;
+    @Schema(description = "Active users by period (users who posted or commented)")
+    private TimeSeriesDTO activeUsers;
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package edu.cit.citforums.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Statistics of the in-memory cache of loaded members used for authentication")
+public class UserCacheStatsResponse {
+
+    @Schema(description = "Cached keys (each member is cached under its email and its name)", example = "240")
+    private int size;
+
+    @Schema(description = "Maximum number of cached keys", example = "10000")
+    private int maxEntries;
+
+    @Schema(description = "How long a loaded member is cached, in milliseconds", example = "60000")
+    private long ttlMs;
+
+    @Schema(description = "Lookups served from the cache since startup", example = "9500")
+    private long hits;
+
+    @Schema(description = "Lookups that loaded the member from the database since startup", example = "500")
+    private long misses;
+
+    @Schema(description = "Hits divided by all lookups", example = "0.95")
+    private double hitRate;
+
+    @Schema(description = "Explicit evictions after a member was changed or deleted", example = "3")
+    private long evictions;
+}
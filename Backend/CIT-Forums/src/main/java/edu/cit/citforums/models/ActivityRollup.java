@@ -0,0 +1,31 @@
+package edu.cit.citforums.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Activity counters for one hour, keyed by the start of the hour.
+ */
+@Entity
+@Table(name = "activity_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollup {
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long registrations;
+
+    @Column(nullable = false)
+    private long threads;
+
+    @Column(nullable = false)
+    private long comments;
+}
@@ -43,7 +43,10 @@ public class Comment {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Replies set it before saving, to the time already recorded as the thread's last activity
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
     
     @PreUpdate
@@ -0,0 +1,25 @@
+package edu.cit.citforums.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Serialized HyperLogLog sketch of the members who created a thread or comment on one day.
+ */
+@Entity
+@Table(name = "daily_active_sketches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyActiveSketch {
+
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] sketch;
+}
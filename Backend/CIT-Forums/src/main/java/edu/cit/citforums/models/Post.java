@@ -47,7 +47,10 @@ public class Post {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Replies set it before saving, to the time already recorded as the thread's last activity
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
     
     @PreUpdate
@@ -0,0 +1,46 @@
+package edu.cit.citforums.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ES256 key pair used to sign JWTs, shared by every node through the database.
+ * <p>
+ * A key is published from creation, signs new tokens from {@code activatesAt} until
+ * {@code retiresAt}, and verifies tokens until those signed last have expired.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    // PKCS#8
+    @Column(name = "private_key", nullable = false, columnDefinition = "BLOB")
+    private byte[] privateKey;
+
+    // X.509 SubjectPublicKeyInfo
+    @Column(name = "public_key", nullable = false, columnDefinition = "BLOB")
+    private byte[] publicKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "activates_at", nullable = false)
+    private LocalDateTime activatesAt;
+
+    @Column(name = "retires_at")
+    private LocalDateTime retiresAt;
+
+    // Position in the rotation sequence; unique, so of several nodes creating the same key only one insert succeeds
+    @Column(name = "generation", unique = true)
+    private Long generation;
+}
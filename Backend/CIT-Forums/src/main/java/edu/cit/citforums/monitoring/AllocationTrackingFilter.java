@@ -0,0 +1,118 @@
+package edu.cit.citforums.monitoring;
+
+import edu.cit.citforums.dto.response.EndpointAllocationResponse;
+import edu.cit.citforums.util.ConcurrentHistogram;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attributes heap allocation to routes by reading the request thread's allocated-bytes
+ * counter ({@code ThreadMXBean#getThreadAllocatedBytes} for the current thread) before and
+ * after the chain. Only the request thread is measured: async exports and other background
+ * work are not included, and values above 4 GB per request are clamped in the histograms.
+ * <p>
+ * Turned off with {@code monitoring.allocation.enabled=false}, or on JVMs without
+ * per-thread allocation counters.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AllocationTrackingFilter extends OncePerRequestFilter {
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final Map<String, RouteAllocation> routes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AllocationTrackingFilter(@Value("${monitoring.allocation.enabled:true}") boolean enabled) {
+        this.threads = enabled ? allocationCounters() : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return threads == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            routes.computeIfAbsent(RequestRoutes.routeOf(request), route -> new RouteAllocation()).record(allocated);
+        }
+    }
+
+    /**
+     * Routes by total bytes allocated, largest first; {@code limit} of 0 returns all of them.
+     */
+    public List<EndpointAllocationResponse> getAllocations(int limit) {
+        long total = routes.values().stream().mapToLong(allocation -> allocation.bytes.sum()).sum();
+        List<EndpointAllocationResponse> allocations = new ArrayList<>();
+        routes.forEach((route, allocation) -> {
+            long requests = allocation.requests.sum();
+            long bytes = allocation.bytes.sum();
+            ConcurrentHistogram.Snapshot perRequest = allocation.perRequest.snapshot();
+            allocations.add(new EndpointAllocationResponse(
+                    route,
+                    requests,
+                    round(bytes / (1024.0 * 1024.0)),
+                    total > 0 ? round((double) bytes / total) : 0,
+                    requests > 0 ? round(bytes / 1024.0 / requests) : 0,
+                    toKb(perRequest.quantile(0.5)),
+                    toKb(perRequest.quantile(0.99)),
+                    toKb(perRequest.max())));
+        });
+
+        allocations.sort(Comparator.comparingDouble(EndpointAllocationResponse::getAllocatedMb).reversed());
+        return limit > 0 && allocations.size() > limit ? allocations.subList(0, limit) : allocations;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounters() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+
+    private static Double toKb(double bytes) {
+        return Double.isNaN(bytes) ? null : round(bytes / 1024.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static class RouteAllocation {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final ConcurrentHistogram perRequest = new ConcurrentHistogram();
+
+        void record(long allocated) {
+            requests.increment();
+            bytes.add(allocated);
+            perRequest.record(allocated);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package edu.cit.citforums.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives the Hikari pool a {@link PoolMetricsTrackerFactory} before it starts; Hikari only
+ * accepts one while the pool has not handed out a connection yet.
+ */
+@Component
+public class ConnectionPoolMetricsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari
+                && hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+            hikari.setMetricsTrackerFactory(new PoolMetricsTrackerFactory());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,213 @@
+package edu.cit.citforums.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import edu.cit.citforums.dto.response.ConnectionPoolStatsResponse;
+import edu.cit.citforums.util.ConcurrentHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the Hikari pool's live counts and {@link PoolMetricsTrackerFactory}'s timings, and
+ * advises on {@code spring.datasource.hikari.maximum-pool-size}.
+ * <p>
+ * Demand (borrowed plus waiting connections) is sampled every
+ * {@code monitoring.pool.sample-interval-ms}. The advice covers the last
+ * {@code monitoring.pool.advice-window-minutes} to twice that, kept as two halves so old
+ * traffic ages out, and recommends enough connections for the 99th percentile of busy samples
+ * and for the average load by Little's law. It never goes above the database's parallelism,
+ * {@code cores * 2 + 1} for {@code monitoring.pool.database-cores} (this host's cores when 0);
+ * past that point, extra connections only queue inside the database.
+ */
+@Component
+public class ConnectionPoolMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+    private static final int MIN_SAMPLES = 60;
+
+    private final HikariDataSource hikari;
+    private final PoolMetricsTrackerFactory metrics;
+    private final long halfWindowNanos;
+    private final int ceiling;
+
+    // Written only by the sampler
+    private volatile Window previous;
+    private volatile Window current;
+
+    @Autowired
+    public ConnectionPoolMonitor(
+            DataSource dataSource,
+            @Value("${monitoring.pool.advice-window-minutes:60}") long adviceWindowMinutes,
+            @Value("${monitoring.pool.database-cores:0}") int databaseCores) {
+        this.hikari = unwrap(dataSource);
+        this.metrics = hikari != null && hikari.getMetricsTrackerFactory() instanceof PoolMetricsTrackerFactory factory
+                ? factory : null;
+        this.halfWindowNanos = TimeUnit.MINUTES.toNanos(adviceWindowMinutes) / 2;
+        this.ceiling = (databaseCores > 0 ? databaseCores : Runtime.getRuntime().availableProcessors()) * 2 + 1;
+        this.current = new Window(System.nanoTime(), usageMillis());
+        this.previous = current;
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.pool.sample-interval-ms:1000}")
+    public void sample() {
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            // Not a Hikari pool, or not started yet
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (now - current.startNanos >= halfWindowNanos) {
+            previous = current;
+            current = new Window(now, usageMillis());
+        }
+        current.sample(pool.getActiveConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+    public ConnectionPoolStatsResponse getStats() {
+        ConnectionPoolStatsResponse stats = new ConnectionPoolStatsResponse();
+        if (hikari == null) {
+            return stats;
+        }
+        stats.setPoolName(hikari.getPoolName());
+        stats.setMaximumPoolSize(hikari.getMaximumPoolSize());
+        stats.setMinimumIdle(hikari.getMinimumIdle());
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            stats.setActive(pool.getActiveConnections());
+            stats.setIdle(pool.getIdleConnections());
+            stats.setPending(pool.getThreadsAwaitingConnection());
+            stats.setTotal(pool.getTotalConnections());
+        }
+        if (metrics != null) {
+            stats.setAcquisitions(metrics.getAcquired());
+            stats.setTimeouts(metrics.getTimeouts());
+            stats.setAcquireWait(toTiming(metrics.getAcquireMicros().snapshot()));
+            stats.setUsage(toTiming(metrics.getUsageMicros().snapshot()));
+            stats.setConnectionCreation(toTiming(metrics.getCreationMicros().snapshot()));
+        }
+        stats.setSizing(advise(hikari.getMaximumPoolSize()));
+        return stats;
+    }
+
+    private ConnectionPoolStatsResponse.Sizing advise(int maximumPoolSize) {
+        Window older = previous;
+        Window newer = current;
+        ConcurrentHistogram.Snapshot demand = new ConcurrentHistogram.Snapshot();
+        demand.add(newer.busyDemand);
+        long samples = newer.samples;
+        long waitingSamples = newer.waitingSamples;
+        int peak = newer.peak;
+        if (older != newer) {
+            demand.add(older.busyDemand);
+            samples += older.samples;
+            waitingSamples += older.waitingSamples;
+            peak = Math.max(peak, older.peak);
+        }
+
+        double p99Demand = demand.getTotalCount() > 0 ? demand.quantile(0.99) : 0;
+        double elapsedSeconds = (System.nanoTime() - older.startNanos) / 1e9;
+        // Little's law: arrival rate times mean hold time is total hold time over elapsed time
+        double averageBusy = elapsedSeconds > 0 ? (usageMillis() - older.startUsageMillis) / 1000.0 / elapsedSeconds : 0;
+        double waitingRatio = samples > 0 ? (double) waitingSamples / samples : 0;
+
+        int needed = (int) Math.ceil(Math.max(p99Demand, averageBusy));
+        int recommended = Math.min(Math.max(needed, 2), ceiling);
+        String advice;
+        if (samples < MIN_SAMPLES) {
+            recommended = maximumPoolSize;
+            advice = "Not enough samples yet (" + samples + " of " + MIN_SAMPLES + ")";
+        } else if (needed > ceiling) {
+            advice = String.format(Locale.ROOT,
+                    "Demand (p99 %.0f connections) exceeds what the database can run in parallel (%d); a larger "
+                    + "pool would only move the queue into the database. Reduce statements per request or their "
+                    + "latency instead", p99Demand, ceiling);
+        } else if (recommended > maximumPoolSize) {
+            advice = String.format(Locale.ROOT,
+                    "Requests waited for a connection in %.1f%% of samples; raise maximum-pool-size from %d to %d",
+                    waitingRatio * 100, maximumPoolSize, recommended);
+        } else if (recommended < maximumPoolSize) {
+            advice = String.format(Locale.ROOT,
+                    "Demand peaks at %d connections (p99 %.0f); maximum-pool-size could drop from %d to %d",
+                    peak, p99Demand, maximumPoolSize, recommended);
+        } else {
+            advice = "maximum-pool-size " + maximumPoolSize + " matches observed demand";
+        }
+
+        return new ConnectionPoolStatsResponse.Sizing(
+                recommended,
+                p99Demand,
+                peak,
+                waitingRatio,
+                Math.round(averageBusy * 100) / 100.0,
+                ceiling,
+                samples,
+                advice);
+    }
+
+    private long usageMillis() {
+        return metrics != null ? metrics.getUsageMillis() : 0;
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not unwrap the connection pool: {}", e.getMessage());
+        }
+        logger.info("DataSource is not a Hikari pool; connection pool monitoring is disabled");
+        return null;
+    }
+
+    private static ConnectionPoolStatsResponse.Timing toTiming(ConcurrentHistogram.Snapshot snapshot) {
+        return new ConnectionPoolStatsResponse.Timing(
+                snapshot.getTotalCount(),
+                toMillis(snapshot.quantile(0.5)),
+                toMillis(snapshot.quantile(0.9)),
+                toMillis(snapshot.quantile(0.99)),
+                toMillis(snapshot.max()));
+    }
+
+    private static Double toMillis(double micros) {
+        return Double.isNaN(micros) ? null : Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static class Window {
+        private final long startNanos;
+        private final long startUsageMillis;
+        // Demand in samples where at least one connection was borrowed or awaited
+        private final ConcurrentHistogram busyDemand = new ConcurrentHistogram();
+        private volatile long samples;
+        private volatile long waitingSamples;
+        private volatile int peak;
+
+        Window(long startNanos, long startUsageMillis) {
+            this.startNanos = startNanos;
+            this.startUsageMillis = startUsageMillis;
+        }
+
+        void sample(int active, int pending) {
+            int demand = active + pending;
+            samples++;
+            if (pending > 0) {
+                waitingSamples++;
+            }
+            if (demand > 0) {
+                busyDemand.record(demand);
+                peak = Math.max(peak, demand);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package edu.cit.citforums.monitoring;
+
+import edu.cit.citforums.dto.response.FlightRecordingResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Java Flight Recorder control for the admin endpoints, so production can be profiled
+ * without shell access.
+ * <p>
+ * On-demand recordings use one of the JDK's settings profiles ({@code default}, about 1%
+ * overhead, or {@code profile}, more detail at around 2%), run for a bounded duration and are
+ * written to {@code monitoring.jfr.dir} when they stop. Only one runs at a time. A continuous
+ * recording with the {@code default} profile keeps the last
+ * {@code monitoring.jfr.continuous.max-age-minutes} in a disk-backed ring and can be dumped
+ * after an incident. Only the newest {@code monitoring.jfr.max-files} files are kept.
+ */
+@Component
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.jfr");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String RECORDING_PREFIX = "recording-";
+    private static final String DUMP_PREFIX = "continuous-";
+
+    @Value("${monitoring.jfr.dir:data/jfr}")
+    private String directory;
+
+    @Value("${monitoring.jfr.max-duration-minutes:30}")
+    private long maxDurationMinutes;
+
+    @Value("${monitoring.jfr.max-files:10}")
+    private int maxFiles;
+
+    @Value("${monitoring.jfr.continuous.enabled:true}")
+    private boolean continuousEnabled;
+
+    @Value("${monitoring.jfr.continuous.max-age-minutes:30}")
+    private long continuousMaxAgeMinutes;
+
+    @Value("${monitoring.jfr.continuous.max-size-mb:100}")
+    private long continuousMaxSizeMb;
+
+    private final Map<Long, Tracked> running = new ConcurrentHashMap<>();
+    private Path dir;
+    private volatile Recording continuous;
+
+    @PostConstruct
+    public void init() throws IOException {
+        dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("Java Flight Recorder is not available in this JVM; recording endpoints are disabled");
+            return;
+        }
+        if (continuousEnabled) {
+            try {
+                Recording recording = new Recording(Configuration.getConfiguration("default"));
+                recording.setName("continuous");
+                recording.setToDisk(true);
+                recording.setMaxAge(Duration.ofMinutes(continuousMaxAgeMinutes));
+                recording.setMaxSize(continuousMaxSizeMb * 1024 * 1024);
+                recording.start();
+                continuous = recording;
+                logger.info("Started continuous flight recording keeping the last {} minutes", continuousMaxAgeMinutes);
+            } catch (IOException | ParseException e) {
+                logger.warn("Could not start the continuous flight recording: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Stopping writes on-demand recordings to their files; the ring is only kept when dumped
+        running.values().forEach(tracked -> closeQuietly(tracked.recording, true));
+        running.clear();
+        if (continuous != null) {
+            closeQuietly(continuous, false);
+        }
+    }
+
+    /**
+     * Starts a recording that stops itself after {@code duration} and is then saved.
+     *
+     * @throws IllegalArgumentException for an unknown profile or a duration out of range
+     * @throws IllegalStateException when JFR is unavailable or a recording is already running
+     */
+    public synchronized FlightRecordingResponse start(String profile, Duration duration) {
+        requireAvailable();
+        if (duration.isZero() || duration.isNegative() || duration.compareTo(Duration.ofMinutes(maxDurationMinutes)) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1 second and " + maxDurationMinutes + " minutes");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR profile: " + profile);
+        }
+        closeFinished();
+        if (!running.isEmpty()) {
+            throw new IllegalStateException("A recording is already running; stop it first");
+        }
+
+        String name = RECORDING_PREFIX + LocalDateTime.now().format(NAME_FORMAT);
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        try {
+            recording.setDestination(dir.resolve(name + ".jfr"));
+        } catch (IOException e) {
+            recording.close();
+            throw new IllegalStateException("Cannot write recordings to " + dir.toAbsolutePath(), e);
+        }
+        recording.start();
+        Tracked tracked = new Tracked(recording, profile);
+        running.put(recording.getId(), tracked);
+        pruneFiles();
+        logger.info("Started flight recording {} with profile {} for {}", name, profile, duration);
+        return toResponse(tracked);
+    }
+
+    /**
+     * Stops a running recording and saves it.
+     *
+     * @return the saved recording, or {@code null} when no recording has that id
+     */
+    public synchronized FlightRecordingResponse stop(long id) {
+        Tracked tracked = running.remove(id);
+        if (tracked == null) {
+            return null;
+        }
+        Recording recording = tracked.recording;
+        String fileName = recording.getName() + ".jfr";
+        closeQuietly(recording, true);
+        logger.info("Stopped flight recording {}", recording.getName());
+        return toResponse(dir.resolve(fileName));
+    }
+
+    /**
+     * Writes what the continuous recording currently holds to a new file.
+     *
+     * @throws IllegalStateException when there is no continuous recording
+     */
+    public synchronized FlightRecordingResponse dumpContinuous() {
+        requireAvailable();
+        Recording recording = continuous;
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("The continuous recording is not running");
+        }
+        Path file = dir.resolve(DUMP_PREFIX + LocalDateTime.now().format(NAME_FORMAT) + ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not dump the continuous recording: " + e.getMessage(), e);
+        }
+        pruneFiles();
+        logger.info("Dumped the continuous flight recording to {}", file.getFileName());
+        return toResponse(file);
+    }
+
+    /**
+     * Running recordings first, then saved files, newest first.
+     */
+    public synchronized List<FlightRecordingResponse> list() {
+        closeFinished();
+        List<FlightRecordingResponse> recordings = new ArrayList<>();
+        running.values().forEach(tracked -> recordings.add(toResponse(tracked)));
+        if (continuous != null) {
+            Recording recording = continuous;
+            recordings.add(new FlightRecordingResponse(recording.getId(), recording.getName(), "CONTINUOUS",
+                    recording.getState().name(), "default", toString(recording.getStartTime()),
+                    recording.getMaxAge().toSeconds(), recording.getSize(), null));
+        }
+        savedFiles().forEach(file -> recordings.add(toResponse(file)));
+        return recordings;
+    }
+
+    /**
+     * A saved recording by file name, or {@code null} when the name is invalid or there is none.
+     */
+    public Path file(String fileName) {
+        if (dir == null || fileName == null || !FILE_NAME.matcher(fileName).matches()) {
+            return null;
+        }
+        Path file = dir.resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private void requireAvailable() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM");
+        }
+    }
+
+    // Recordings stop by themselves when their duration is up; JFR has saved them by then
+    private void closeFinished() {
+        running.values().removeIf(tracked -> {
+            if (tracked.recording.getState() == RecordingState.RUNNING
+                    || tracked.recording.getState() == RecordingState.DELAYED) {
+                return false;
+            }
+            closeQuietly(tracked.recording, false);
+            return true;
+        });
+    }
+
+    private void pruneFiles() {
+        List<Path> files = savedFiles();
+        for (int i = maxFiles; i < files.size(); i++) {
+            try {
+                Files.deleteIfExists(files.get(i));
+            } catch (IOException e) {
+                logger.warn("Could not delete old flight recording {}: {}", files.get(i), e.getMessage());
+            }
+        }
+    }
+
+    private List<Path> savedFiles() {
+        try (Stream<Path> listing = Files.list(dir)) {
+            return listing
+                    .filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(FlightRecorderService::lastModified).reversed())
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Could not list flight recordings in {}: {}", dir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private FlightRecordingResponse toResponse(Tracked tracked) {
+        Recording recording = tracked.recording;
+        return new FlightRecordingResponse(recording.getId(), recording.getName(), "RECORDING",
+                recording.getState().name(), tracked.profile, toString(recording.getStartTime()),
+                recording.getDuration() != null ? recording.getDuration().toSeconds() : null,
+                recording.getSize(), null);
+    }
+
+    private static FlightRecordingResponse toResponse(Path file) {
+        String fileName = file.getFileName().toString();
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            size = 0;
+        }
+        return new FlightRecordingResponse(null, fileName.substring(0, fileName.length() - ".jfr".length()),
+                fileName.startsWith(DUMP_PREFIX) ? "DUMP" : "RECORDING", RecordingState.STOPPED.name(), null,
+                toString(lastModified(file)), null, size, fileName);
+    }
+
+    private static void closeQuietly(Recording recording, boolean stop) {
+        try {
+            if (stop && recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not stop flight recording {}: {}", recording.getName(), e.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static String toString(Instant instant) {
+        return instant != null ? instant.toString() : null;
+    }
+
+    private record Tracked(Recording recording, String profile) {
+    }
+}
@@ -0,0 +1,191 @@
+package edu.cit.citforums.monitoring;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import edu.cit.citforums.dto.response.GcStatsResponse;
+import edu.cit.citforums.util.ConcurrentHistogram;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens for the JVM's garbage collection notifications to record pause times per
+ * collector and the allocation rate.
+ * <p>
+ * Allocation is measured in the eden space: what it held before a collection, minus what
+ * it still held after the previous one, is what the application allocated in between. The
+ * rate and the young-collection counts are taken over the collections of the last five
+ * minutes.
+ */
+@Component
+public class GcMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GcMonitor.class);
+    private static final long RECENT_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final long LAST_MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_RECENT_COLLECTIONS = 4096;
+
+    private final Map<String, CollectorStats> collectors = new ConcurrentHashMap<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = this::handleNotification;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    // Collections of the last five minutes, oldest first; guarded by itself
+    private final Deque<Collection> recent = new ArrayDeque<>();
+    // Notifications arrive on one JMX thread, so this needs no locking
+    private long edenAfterLastCollection;
+
+    @PostConstruct
+    public void init() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+                emitters.add(emitter);
+                collectors.put(collector.getName(), new CollectorStats());
+            }
+        }
+        if (emitters.isEmpty()) {
+            logger.info("This JVM does not publish garbage collection notifications; GC statistics are unavailable");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // Already gone
+            }
+        }
+    }
+
+    public GcStatsResponse getStats() {
+        long now = System.nanoTime();
+        Double rate = null;
+        int lastMinute = 0;
+        int lastFiveMinutes = 0;
+        synchronized (recent) {
+            prune(now);
+            for (Collection collection : recent) {
+                if (collection.young) {
+                    lastFiveMinutes++;
+                    if (now - collection.nanos <= LAST_MINUTE_NANOS) {
+                        lastMinute++;
+                    }
+                }
+            }
+            if (recent.size() >= 2) {
+                Collection first = recent.peekFirst();
+                Collection last = recent.peekLast();
+                double seconds = (last.nanos - first.nanos) / 1e9;
+                if (seconds > 0) {
+                    rate = round((last.allocatedBytes - first.allocatedBytes) / (1024.0 * 1024.0) / seconds);
+                }
+            }
+        }
+
+        List<GcStatsResponse.Collector> collectorStats = new ArrayList<>();
+        collectors.forEach((name, stats) -> {
+            ConcurrentHistogram.Snapshot pauses = stats.pauseMicros.snapshot();
+            collectorStats.add(new GcStatsResponse.Collector(
+                    name,
+                    stats.count.sum(),
+                    stats.totalPauseMs.sum(),
+                    toMillis(pauses.quantile(0.5)),
+                    toMillis(pauses.quantile(0.99)),
+                    stats.maxPauseMs.get(),
+                    stats.lastCause));
+        });
+
+        return new GcStatsResponse(rate, round(allocatedBytes.get() / (1024.0 * 1024.0)),
+                lastMinute, lastFiveMinutes, collectorStats);
+    }
+
+    private void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gcInfo = info.getGcInfo();
+
+        CollectorStats stats = collectors.computeIfAbsent(info.getGcName(), name -> new CollectorStats());
+        stats.count.increment();
+        stats.totalPauseMs.add(gcInfo.getDuration());
+        stats.pauseMicros.record(TimeUnit.MILLISECONDS.toMicros(gcInfo.getDuration()));
+        stats.maxPauseMs.accumulate(gcInfo.getDuration());
+        stats.lastCause = info.getGcCause();
+
+        long edenBefore = edenUsed(gcInfo.getMemoryUsageBeforeGc());
+        long edenAfter = edenUsed(gcInfo.getMemoryUsageAfterGc());
+        if (edenBefore < 0) {
+            return;
+        }
+        long allocated = allocatedBytes.addAndGet(Math.max(0, edenBefore - edenAfterLastCollection));
+        edenAfterLastCollection = Math.max(edenAfter, 0);
+
+        long now = System.nanoTime();
+        boolean young = info.getGcAction().contains("minor");
+        synchronized (recent) {
+            recent.addLast(new Collection(now, allocated, young));
+            prune(now);
+        }
+    }
+
+    private static long edenUsed(Map<String, MemoryUsage> usageByPool) {
+        long used = -1;
+        for (Map.Entry<String, MemoryUsage> pool : usageByPool.entrySet()) {
+            if (pool.getKey().contains("Eden")) {
+                used = Math.max(used, 0) + pool.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private void prune(long now) {
+        while (!recent.isEmpty()
+                && (now - recent.peekFirst().nanos > RECENT_NANOS || recent.size() > MAX_RECENT_COLLECTIONS)) {
+            recent.removeFirst();
+        }
+    }
+
+    private static Double toMillis(double micros) {
+        return Double.isNaN(micros) ? null : round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private record Collection(long nanos, long allocatedBytes, boolean young) {
+    }
+
+    private static class CollectorStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalPauseMs = new LongAdder();
+        private final LongAccumulator maxPauseMs = new LongAccumulator(Long::max, 0);
+        private final ConcurrentHistogram pauseMicros = new ConcurrentHistogram();
+        private volatile String lastCause;
+    }
+}
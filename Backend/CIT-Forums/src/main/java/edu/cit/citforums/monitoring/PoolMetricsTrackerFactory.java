@@ -0,0 +1,80 @@
+package edu.cit.citforums.monitoring;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import edu.cit.citforums.util.ConcurrentHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects Hikari's per-connection timings: how long each borrower waited for a connection,
+ * how long it held it, and how long new connections took to open. Installed on the pool by
+ * {@link ConnectionPoolMetricsPostProcessor} and read back by {@link ConnectionPoolMonitor}
+ * through {@code HikariDataSource#getMetricsTrackerFactory()}. All durations are kept in
+ * microseconds.
+ */
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final ConcurrentHistogram acquireMicros = new ConcurrentHistogram();
+    private final ConcurrentHistogram usageMicros = new ConcurrentHistogram();
+    private final ConcurrentHistogram creationMicros = new ConcurrentHistogram();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creationMicros.record(TimeUnit.MILLISECONDS.toMicros(connectionCreatedMillis));
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquired.increment();
+                acquireMicros.record(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+                usageMicros.record(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public ConcurrentHistogram getAcquireMicros() {
+        return acquireMicros;
+    }
+
+    public ConcurrentHistogram getUsageMicros() {
+        return usageMicros;
+    }
+
+    public ConcurrentHistogram getCreationMicros() {
+        return creationMicros;
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * Total time connections were held, summed over all borrowers.
+     */
+    public long getUsageMillis() {
+        return usageMillis.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
@@ -0,0 +1,206 @@
+package edu.cit.citforums.monitoring;
+
+import edu.cit.citforums.dto.response.SqlStatsResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opens a {@link RequestQueryStats} for every request and, when it finishes, adds the
+ * statement count and database time to its route's totals. A request that executes more
+ * than {@code monitoring.sql.max-statements} statements, or the same statement shape
+ * {@code monitoring.sql.max-repeats} times (the usual sign of an N+1 query), is logged
+ * with that shape, at most once a minute per route.
+ * <p>
+ * With {@code monitoring.sql.response-headers=true} (meant for development) every response
+ * carries {@code X-Sql-Statements} and {@code X-Sql-Time-Ms}. Headers must be set before the
+ * body is written, so they count the statements executed up to that point.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final boolean responseHeaders;
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final Map<String, RouteQueries> routes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryCountFilter(
+            @Value("${monitoring.sql.enabled:true}") boolean enabled,
+            @Value("${monitoring.sql.response-headers:false}") boolean responseHeaders,
+            @Value("${monitoring.sql.max-statements:30}") int maxStatements,
+            @Value("${monitoring.sql.max-repeats:10}") int maxRepeats) {
+        this.enabled = enabled;
+        this.responseHeaders = responseHeaders;
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            if (responseHeaders) {
+                StatsHeaderResponse wrapped = new StatsHeaderResponse(response, stats);
+                filterChain.doFilter(request, wrapped);
+                wrapped.writeHeaders();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            RequestQueryStats.end();
+            record(RequestRoutes.routeOf(request), stats);
+        }
+    }
+
+    public List<SqlStatsResponse> getStats() {
+        List<SqlStatsResponse> stats = new ArrayList<>();
+        routes.forEach((route, queries) -> {
+            long requests = queries.requests.sum();
+            long statements = queries.statements.sum();
+            double dbTimeMs = queries.nanos.sum() / 1_000_000.0;
+            Repeat repeat = queries.lastRepeat;
+            stats.add(new SqlStatsResponse(
+                    route,
+                    requests,
+                    statements,
+                    requests > 0 ? (double) statements / requests : 0,
+                    queries.maxStatements.get(),
+                    dbTimeMs,
+                    requests > 0 ? dbTimeMs / requests : 0,
+                    queries.flagged.sum(),
+                    repeat != null ? repeat.statement() : null,
+                    repeat != null ? repeat.count() : 0));
+        });
+
+        // Heaviest first: the endpoints issuing the most statements per request
+        stats.sort(Comparator.comparingDouble(SqlStatsResponse::getStatementsPerRequest).reversed());
+        return stats;
+    }
+
+    private void record(String route, RequestQueryStats stats) {
+        RouteQueries queries = routes.computeIfAbsent(route, key -> new RouteQueries());
+        queries.requests.increment();
+        queries.statements.add(stats.getStatements());
+        queries.nanos.add(stats.getNanos());
+        queries.maxStatements.accumulate(stats.getStatements());
+
+        Map.Entry<String, Integer> top = stats.mostRepeated();
+        boolean repeated = top != null && top.getValue() >= maxRepeats;
+        if (stats.getStatements() <= maxStatements && !repeated) {
+            return;
+        }
+
+        queries.flagged.increment();
+        if (top != null) {
+            queries.lastRepeat = new Repeat(top.getKey(), top.getValue());
+        }
+        long now = System.nanoTime();
+        long last = queries.lastLogged.get();
+        if (now - last >= LOG_INTERVAL_NANOS && queries.lastLogged.compareAndSet(last, now)) {
+            logger.warn(route + " executed " + stats.getStatements() + " statements in "
+                    + TimeUnit.NANOSECONDS.toMillis(stats.getNanos()) + " ms; most repeated ("
+                    + (top != null ? top.getValue() : 0) + "x): " + (top != null ? top.getKey() : "-"));
+        }
+    }
+
+    private record Repeat(String statement, int count) {
+    }
+
+    private static class RouteQueries {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Long::max, 0);
+        private final LongAdder flagged = new LongAdder();
+        private final AtomicLong lastLogged = new AtomicLong(System.nanoTime() - LOG_INTERVAL_NANOS);
+        private volatile Repeat lastRepeat;
+    }
+
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+        private final RequestQueryStats stats;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader("X-Sql-Statements", String.valueOf(stats.getStatements()));
+            setHeader("X-Sql-Time-Ms", String.format(Locale.ROOT, "%.1f", stats.getNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
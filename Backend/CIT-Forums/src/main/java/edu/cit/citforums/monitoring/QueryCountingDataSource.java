@@ -0,0 +1,115 @@
+package edu.cit.citforums.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pool so every statement executed on a request thread is counted and timed in
+ * that request's {@link RequestQueryStats}. This sees JPA and {@code JdbcTemplate} alike,
+ * which a Hibernate {@code StatementInspector} would not, and measures execution time,
+ * which it cannot.
+ * <p>
+ * Statements created outside a request are returned unwrapped, so background work pays
+ * nothing. The time recorded is the execute call; rows streamed afterwards are not included.
+ * {@link #unwrap} still reaches the pool underneath.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            if (!(result instanceof Statement) || RequestQueryStats.current() == null) {
+                return result;
+            }
+
+            // Prepared and callable statements carry their SQL from here; plain ones get it per execute
+            Class<?> type;
+            String sql = null;
+            if (result instanceof CallableStatement) {
+                type = CallableStatement.class;
+                sql = (String) args[0];
+            } else if (result instanceof PreparedStatement) {
+                type = PreparedStatement.class;
+                sql = (String) args[0];
+            } else {
+                type = Statement.class;
+            }
+            return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler((Statement) result, sql));
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return QueryCountingDataSource.invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return QueryCountingDataSource.invoke(target, method, args);
+            } finally {
+                RequestQueryStats stats = RequestQueryStats.current();
+                if (stats != null) {
+                    String shape = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String sql
+                                    ? RequestQueryStats.shapeOf(sql) : null;
+                    stats.record(shape, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.cit.citforums.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link QueryCountingDataSource} in front of the auto-configured pool, so JPA and
+ * every {@code JdbcTemplate} go through it. Disabled with {@code monitoring.sql.enabled=false}.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean enabled;
+
+    @Autowired
+    public QueryCountingDataSourcePostProcessor(Environment environment) {
+        this.enabled = environment.getProperty("monitoring.sql.enabled", Boolean.class, true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,209 @@
+package edu.cit.citforums.monitoring;
+
+import edu.cit.citforums.dto.response.EndpointLatencyResponse;
+import edu.cit.citforums.util.ConcurrentHistogram;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long every request takes, per route (method and path template), into
+ * lock-free histograms. Each route keeps one histogram since startup and a ring of
+ * 15-second slices covering the last five minutes; a slice is cleared by the first request
+ * that lands in it after it has aged out, so idle routes cost nothing and samples racing
+ * that clear are occasionally dropped.
+ * <p>
+ * Runs first in the chain so the time spent in the security filters is included. Async
+ * requests are recorded when they complete.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLatencyFilter extends OncePerRequestFilter {
+
+    private static final long SLICE_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final int SLICE_COUNT = 20;
+    private static final int LAST_MINUTE_SLICES = 4;
+
+    private final long origin = System.nanoTime();
+    private final Map<String, RouteLatency> routes = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+            } else {
+                // An exception escaping the chain becomes a 500 on the error dispatch
+                record(request, failed ? 500 : response.getStatus(), start);
+            }
+        }
+    }
+
+    public List<EndpointLatencyResponse> getLatencies() {
+        long slice = currentSlice();
+        List<EndpointLatencyResponse> latencies = new ArrayList<>();
+        routes.forEach((route, latency) -> latencies.add(new EndpointLatencyResponse(
+                route,
+                latency.window(slice, LAST_MINUTE_SLICES),
+                latency.window(slice, SLICE_COUNT),
+                latency.sinceStartup())));
+
+        // Slowest first, by the five-minute p99; routes idle for five minutes go last
+        latencies.sort(Comparator.comparing(
+                (EndpointLatencyResponse latency) -> latency.getLastFiveMinutes().getP99Ms(),
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return latencies;
+    }
+
+    private void record(HttpServletRequest request, int status, long start) {
+        long end = System.nanoTime();
+        long micros = TimeUnit.NANOSECONDS.toMicros(end - start);
+        routes.computeIfAbsent(RequestRoutes.routeOf(request), route -> new RouteLatency())
+                .record(micros, status, sliceAt(end));
+    }
+
+    private long currentSlice() {
+        return sliceAt(System.nanoTime());
+    }
+
+    private long sliceAt(long nanos) {
+        return (nanos - origin) / SLICE_NANOS;
+    }
+
+    private static EndpointLatencyResponse.Window toWindow(ConcurrentHistogram.Snapshot snapshot,
+                                                           long serverErrors, long clientErrors) {
+        long requests = snapshot.getTotalCount();
+        return new EndpointLatencyResponse.Window(
+                requests,
+                serverErrors,
+                clientErrors,
+                requests > 0 ? (double) serverErrors / requests : 0,
+                toMillis(snapshot.quantile(0.5)),
+                toMillis(snapshot.quantile(0.9)),
+                toMillis(snapshot.quantile(0.99)),
+                toMillis(snapshot.quantile(0.999)),
+                toMillis(snapshot.max()));
+    }
+
+    private static Double toMillis(double micros) {
+        return Double.isNaN(micros) ? null : Math.round(micros / 100.0) / 10.0;
+    }
+
+    private class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response.getStatus(), start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static class RouteLatency {
+        private final ConcurrentHistogram total = new ConcurrentHistogram();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final Slice[] slices = new Slice[SLICE_COUNT];
+
+        RouteLatency() {
+            for (int i = 0; i < SLICE_COUNT; i++) {
+                slices[i] = new Slice();
+            }
+        }
+
+        void record(long micros, int status, long slice) {
+            total.record(micros);
+            countStatus(status, serverErrors, clientErrors);
+
+            Slice current = slices[(int) (slice % SLICE_COUNT)];
+            long seen = current.slice.get();
+            if (seen < slice && current.slice.compareAndSet(seen, slice)) {
+                current.reset();
+            }
+            current.latency.record(micros);
+            countStatus(status, current.serverErrors, current.clientErrors);
+        }
+
+        EndpointLatencyResponse.Window window(long now, int sliceCount) {
+            ConcurrentHistogram.Snapshot snapshot = new ConcurrentHistogram.Snapshot();
+            long windowServerErrors = 0;
+            long windowClientErrors = 0;
+            for (Slice slice : slices) {
+                long at = slice.slice.get();
+                if (at > now - sliceCount && at <= now) {
+                    snapshot.add(slice.latency);
+                    windowServerErrors += slice.serverErrors.sum();
+                    windowClientErrors += slice.clientErrors.sum();
+                }
+            }
+            return toWindow(snapshot, windowServerErrors, windowClientErrors);
+        }
+
+        EndpointLatencyResponse.Window sinceStartup() {
+            return toWindow(total.snapshot(), serverErrors.sum(), clientErrors.sum());
+        }
+
+        private static void countStatus(int status, LongAdder serverErrors, LongAdder clientErrors) {
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+    }
+
+    private static class Slice {
+        private final AtomicLong slice = new AtomicLong(-1);
+        private final ConcurrentHistogram latency = new ConcurrentHistogram();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+
+        void reset() {
+            latency.reset();
+            serverErrors.reset();
+            clientErrors.reset();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package edu.cit.citforums.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements executed by the current request thread, filled in by
+ * {@link QueryCountingDataSource} while {@link QueryCountFilter} has a request open.
+ * Work handed to other threads (async exports, scheduled jobs) is not counted.
+ * <p>
+ * Statements are grouped by shape, the SQL with its literals replaced by {@code ?}, so a
+ * query run once per row shows up as one shape with a high count. Not thread-safe.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+    private static final int MAX_SHAPES = 256;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long nanos;
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request running on this thread, or {@code null} outside one.
+     */
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String shape, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (shape != null && (shapes.size() < MAX_SHAPES || shapes.containsKey(shape))) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * The shape executed most often, or {@code null} when nothing ran.
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Shape of SQL with inline literals; prepared statements are already parameterized.
+     */
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+}
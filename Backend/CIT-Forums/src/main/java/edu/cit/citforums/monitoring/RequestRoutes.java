@@ -0,0 +1,32 @@
+package edu.cit.citforums.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+/**
+ * Names requests by method and matched path template ({@code GET /api/threads/{threadId}}),
+ * so per-request statistics group by endpoint rather than by URL. The set of names is
+ * bounded by the application's mappings: unknown methods collapse to {@code OTHER} and
+ * requests that never reached a handler (404s, rejections by the security filters) to
+ * {@code [unmatched]}.
+ */
+public final class RequestRoutes {
+
+    private static final Set<String> KNOWN_METHODS =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private RequestRoutes() {
+    }
+
+    /**
+     * Route of a request that has been through the dispatcher; earlier in the filter chain
+     * the template is not known yet and every request is {@code [unmatched]}.
+     */
+    public static String routeOf(HttpServletRequest request) {
+        String method = KNOWN_METHODS.contains(request.getMethod()) ? request.getMethod() : "OTHER";
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return method + " " + (pattern != null ? pattern : "[unmatched]");
+    }
+}
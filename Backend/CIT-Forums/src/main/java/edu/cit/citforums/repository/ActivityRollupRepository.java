@@ -0,0 +1,36 @@
+package edu.cit.citforums.repository;
+
+import edu.cit.citforums.models.ActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, LocalDateTime> {
+
+    @Query("SELECT r FROM ActivityRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<ActivityRollup> findBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MAX(r.bucketStart) FROM ActivityRollup r")
+    LocalDateTime findLatestBucketStart();
+
+    @Modifying
+    @Query(value =
+           "INSERT INTO activity_rollups (bucket_start, registrations, threads, comments) " +
+           "VALUES (:bucketStart, :registrations, :threads, :comments) " +
+           "ON DUPLICATE KEY UPDATE " +
+           "registrations = registrations + VALUES(registrations), " +
+           "threads = threads + VALUES(threads), " +
+           "comments = comments + VALUES(comments)",
+           nativeQuery = true)
+    void increment(
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("registrations") long registrations,
+            @Param("threads") long threads,
+            @Param("comments") long comments);
+}
@@ -0,0 +1,20 @@
+package edu.cit.citforums.repository;
+
+import edu.cit.citforums.models.DailyActiveSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyActiveSketchRepository extends JpaRepository<DailyActiveSketch, LocalDate> {
+
+    @Query("SELECT s FROM DailyActiveSketch s WHERE s.activityDate >= :from AND s.activityDate <= :to")
+    List<DailyActiveSketch> findDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MAX(s.activityDate) FROM DailyActiveSketch s")
+    LocalDate findLatestDay();
+}
@@ -18,6 +18,8 @@ public interface ForumRepository extends JpaRepository<Forum, Long> {
     
     Optional<Forum> findByTitle(String title);
     
+    List<Forum> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     Boolean existsByTitle(String title);
     
     List<Forum> findAllByOrderByCreatedAtDesc();
@@ -30,6 +32,16 @@ public interface ForumRepository extends JpaRepository<Forum, Long> {
     @Query("SELECT f FROM Forum f WHERE LOWER(f.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(f.description) LIKE LOWER(CONCAT('%', :query, '%'))")
     Page<Forum> searchForums(String query, Pageable pageable);
 
+    @Query(value =
+           "SELECT * FROM forums f " +
+           "WHERE MATCH(f.title, f.description) AGAINST (:query IN BOOLEAN MODE) " +
+           "ORDER BY MATCH(f.title, f.description) AGAINST (:query IN BOOLEAN MODE) DESC, f.created_at DESC",
+           countQuery =
+           "SELECT COUNT(*) FROM forums f " +
+           "WHERE MATCH(f.title, f.description) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Forum> fullTextSearchForums(@Param("query") String query, Pageable pageable);
+
     @Query("SELECT f FROM Forum f WHERE f.lastActivity < :thresholdDate OR f.lastActivity IS NULL")
     List<Forum> findForumsWithNoActivitySince(@Param("thresholdDate") LocalDateTime thresholdDate);
 } 
\ No newline at end of file
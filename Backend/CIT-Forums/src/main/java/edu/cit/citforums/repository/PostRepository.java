@@ -6,15 +6,30 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     
     Page<Post> findByThreadId(Long threadId, Pageable pageable);
     
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     @Query("SELECT p FROM Post p WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :query, '%'))")
     Page<Post> searchPosts(String query, Pageable pageable);
+
+    @Query(value =
+           "SELECT * FROM posts p " +
+           "WHERE MATCH(p.content) AGAINST (:query IN BOOLEAN MODE) " +
+           "ORDER BY MATCH(p.content) AGAINST (:query IN BOOLEAN MODE) DESC, p.created_at DESC",
+           countQuery =
+           "SELECT COUNT(*) FROM posts p " +
+           "WHERE MATCH(p.content) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Post> fullTextSearchPosts(@Param("query") String query, Pageable pageable);
     
     Long countByThreadId(Long threadId);
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package edu.cit.citforums.repository;
+
+import edu.cit.citforums.models.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findUnexpiredIds(@Param("now") LocalDateTime now);
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.revokedAt > :since AND r.expiresAt > :now")
+    List<String> findIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(r) > 0 FROM RevokedToken r WHERE r.jti = :jti AND r.expiresAt > :now")
+    boolean isRevoked(@Param("jti") String jti, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package edu.cit.citforums.repository;
+
+import edu.cit.citforums.models.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findAllByOrderByActivatesAtAsc();
+}
@@ -2,9 +2,11 @@ package edu.cit.citforums.repository;
 
 import edu.cit.citforums.models.Forum;
 import edu.cit.citforums.models.Thread;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,12 +14,15 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ThreadRepository extends JpaRepository<Thread, Long> {
     
     Page<Thread> findByForumOrderByPinnedDescCreatedAtDesc(Forum forum, Pageable pageable);
     
+    List<Thread> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     Page<Thread> findByForumId(Long forumId, Pageable pageable);
     
     List<Thread> findTop5ByOrderByCreatedAtDesc();
@@ -27,24 +32,32 @@ public interface ThreadRepository extends JpaRepository<Thread, Long> {
     
     @Query("SELECT t FROM Thread t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(t.content) LIKE LOWER(CONCAT('%', :query, '%'))")
     Page<Thread> searchThreads(String query, Pageable pageable);
+
+    @Query(value =
+           "SELECT * FROM threads t " +
+           "WHERE MATCH(t.title, t.content) AGAINST (:query IN BOOLEAN MODE) " +
+           "ORDER BY MATCH(t.title, t.content) AGAINST (:query IN BOOLEAN MODE) DESC, t.created_at DESC",
+           countQuery =
+           "SELECT COUNT(*) FROM threads t " +
+           "WHERE MATCH(t.title, t.content) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Thread> fullTextSearchThreads(@Param("query") String query, Pageable pageable);
     
     @Modifying
     @Query("UPDATE Thread t SET t.viewCount = t.viewCount + 1 WHERE t.id = :threadId")
     void incrementViewCount(Long threadId);
 
+    // Locked so concurrent replies to a thread each see the activity the one before them left
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.lastActivity FROM Thread t WHERE t.id = :threadId")
+    Optional<LocalDateTime> findLastActivityForUpdate(@Param("threadId") Long threadId);
+
+    // Bulk update so replies do not trigger @PreUpdate and mark the thread as edited
+    @Modifying
+    @Query("UPDATE Thread t SET t.lastActivity = :lastActivity WHERE t.id = :threadId")
+    void updateLastActivity(@Param("threadId") Long threadId, @Param("lastActivity") LocalDateTime lastActivity);
+
     Long countByForumId(Long forumId);
     
     Long countByAuthorId(Long authorId);
-    
-    @Query(value = 
-           "SELECT TO_CHAR(t.created_at, :dateFormat) as period, COUNT(t.id) as count " +
-           "FROM threads t " +
-           "WHERE t.created_at BETWEEN :startDate AND :endDate " +
-           "GROUP BY period " +
-           "ORDER BY period", 
-           nativeQuery = true)
-    List<Object[]> countThreadsByPeriod(
-            @Param("startDate") LocalDateTime startDate, 
-            @Param("endDate") LocalDateTime endDate, 
-            @Param("dateFormat") String dateFormat);
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package edu.cit.citforums.security;
+
+/**
+ * Thrown when a refresh token is unknown, expired or already used; reported to clients as 401.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,14 @@
 package edu.cit.citforums.security;
 
+import edu.cit.citforums.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -15,6 +19,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,21 +31,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // How long a successful or failed DB check of a token's member is trusted; 0 trusts the claims alone
+    @Value("${jwt.revalidate-interval:300000}")
+    private long revalidateIntervalMs;
+
+    private final Map<Long, Revalidation> revalidations = new ConcurrentHashMap<>();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            // Verified once; null when the token is missing or invalid
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (claims != null && !tokenRevocationService.isRevoked(claims.getId())) {
+                UserDetails userDetails = resolveUser(claims);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,6 +66,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from the verified claims. The member is also looked up once per
+     * revalidation interval, to catch deleted or deactivated members and revoked roles before
+     * the token expires. An interval of 0 trusts the claims alone, which is only safe once
+     * access tokens are short-lived and refreshing one reloads the member.
+     */
+    private UserDetails resolveUser(Claims claims) {
+        MemberPrincipal principal = tokenProvider.getPrincipalFromClaims(claims);
+        if (principal == null) {
+            // Token issued before member claims were added
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (revalidateIntervalMs <= 0) {
+            return principal;
+        }
+
+        long now = System.currentTimeMillis();
+        Revalidation last = revalidations.get(principal.getId());
+        if (last == null || now - last.checkedAt() >= revalidateIntervalMs) {
+            last = new Revalidation(now, isStillValid(principal));
+            revalidations.put(principal.getId(), last);
+        }
+        return last.valid() ? principal : null;
+    }
+
+    private boolean isStillValid(MemberPrincipal principal) {
+        try {
+            UserDetails current = userDetailsService.loadUserByUsername(principal.getUsername());
+            return current.isEnabled()
+                    && (!(current instanceof MemberPrincipal) || principal.getId().equals(((MemberPrincipal) current).getId()))
+                    && current.getAuthorities().containsAll(principal.getAuthorities());
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -55,4 +110,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    private record Revalidation(long checkedAt, boolean valid) {
+    }
 } 
\ No newline at end of file
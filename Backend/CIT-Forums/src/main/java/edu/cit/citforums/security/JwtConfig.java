@@ -17,6 +17,17 @@ public class JwtConfig {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
+
+    // ES256 signs with the key ring; HS256 with jwt.secret
+    @Value("${jwt.signing-algorithm:ES256}")
+    private String signingAlgorithm;
+
+    // Keeps tokens signed with jwt.secret valid while switching to ES256
+    @Value("${jwt.accept-hs256:true}")
+    private boolean acceptHs256;
+
     @Bean
     public SecretKey secretKey() {
         // Convert string secret to secure key using HMAC-SHA algorithm
@@ -26,4 +37,16 @@ public class JwtConfig {
     public long getExpiration() {
         return expiration;
     }
+
+    public int getClaimsCacheSize() {
+        return claimsCacheSize;
+    }
+
+    public String getSigningAlgorithm() {
+        return signingAlgorithm;
+    }
+
+    public boolean isAcceptHs256() {
+        return acceptHs256;
+    }
 } 
\ No newline at end of file
@@ -2,69 +2,228 @@ package edu.cit.citforums.security;
 
 import edu.cit.citforums.models.Member;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_MEMBER_ID = "mid";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_ROLES = "roles";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
     private final SecretKey secretKey;
     private final long expiration;
+    private final SigningKeyRing keyRing;
+    private final boolean signWithKeyRing;
+    private final boolean acceptHs256;
+
+    // Immutable once built, so one instance serves every request
+    private final JwtParser parser;
+
+    private final int claimsCacheSize;
+    private final Map<String, VerifiedClaims> verifiedClaims = new ConcurrentHashMap<>();
+    private volatile long lastSweep;
 
     @Autowired
-    public JwtTokenProvider(JwtConfig jwtConfig) {
+    public JwtTokenProvider(JwtConfig jwtConfig, SigningKeyRing keyRing) {
         this.secretKey = jwtConfig.secretKey();
         this.expiration = jwtConfig.getExpiration();
+        this.keyRing = keyRing;
+        this.signWithKeyRing = !"HS256".equalsIgnoreCase(jwtConfig.getSigningAlgorithm());
+        this.acceptHs256 = jwtConfig.isAcceptHs256() || !signWithKeyRing;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return verificationKey(header);
+            }
+        }).build();
+        this.claimsCacheSize = jwtConfig.getClaimsCacheSize();
+    }
+
+    public long getExpirationSeconds() {
+        return expiration / 1000;
     }
 
     public String generateToken(Authentication authentication) {
-        User principal = (User) authentication.getPrincipal();
-        return createToken(principal.getUsername());
+        MemberPrincipal principal = (MemberPrincipal) authentication.getPrincipal();
+        List<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        return createToken(principal.getUsername(), principal.getId(), principal.getName(), roles);
     }
 
     public String generateTokenFromMember(Member member) {
-        return createToken(member.getEmail());
+        List<String> roles = new ArrayList<>();
+        roles.add("ROLE_USER");
+        if (member.isAdmin()) {
+            roles.add("ROLE_ADMIN");
+        }
+        return createToken(member.getEmail(), member.getId(), member.getName(), roles);
     }
 
-    private String createToken(String subject) {
+    private String createToken(String subject, Long memberId, String name, List<String> roles) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
+        // Enough to build the principal without loading the member on every request
         Map<String, Object> claims = new HashMap<>();
-        
-        return Jwts.builder()
+        claims.put(CLAIM_MEMBER_ID, memberId);
+        claims.put(CLAIM_NAME, name);
+        claims.put(CLAIM_ROLES, roles);
+
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                // Lets the token be revoked before it expires
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(secretKey)
-                .compact();
+                .setExpiration(expiryDate);
+
+        if (signWithKeyRing) {
+            SigningKeyRing.RingKey signingKey = keyRing.signingKey();
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                    .signWith(signingKey.privateKey(), SignatureAlgorithm.ES256);
+        } else {
+            builder.signWith(secretKey, SignatureAlgorithm.HS256);
+        }
+        return builder.compact();
+    }
+
+    // Chosen by the token's own header; jjwt rejects a key that does not fit the algorithm
+    private Key verificationKey(JwsHeader<?> header) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+        if (algorithm.isHmac()) {
+            if (!acceptHs256) {
+                throw new UnsupportedJwtException("HMAC-signed tokens are no longer accepted");
+            }
+            return secretKey;
+        }
+        ECPublicKey publicKey = keyRing.verificationKey(header.getKeyId());
+        if (publicKey == null) {
+            throw new JwtException("Unknown or expired signing key: " + header.getKeyId());
+        }
+        return publicKey;
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
         return claims.getSubject();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verified claims of the token, or null when it is malformed, badly signed or expired.
+     * <p>
+     * Verified tokens are cached by SHA-256 digest until they expire, so a client repeating
+     * its token skips decoding and signature verification. The cache holds at most
+     * {@code jwt.claims-cache-size} entries; when it is full of unexpired tokens, new ones
+     * are verified every time. Callers must not modify the returned claims.
+     */
+    public Claims parseToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = verifiedClaims.get(digest);
+        if (cached != null) {
+            if (now < cached.expiresAt()) {
+                return cached.claims();
+            }
+            verifiedClaims.remove(digest, cached);
+        }
+
+        Claims claims;
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            cache(digest, new VerifiedClaims(claims, claims.getExpiration().getTime()), now);
+        }
+        return claims;
+    }
+
+    private void cache(String digest, VerifiedClaims entry, long now) {
+        if (claimsCacheSize <= 0) {
+            return;
+        }
+        if (verifiedClaims.size() >= claimsCacheSize) {
+            // Sweep at most once a second so a full cache does not cost a scan per request
+            if (now - lastSweep < 1000) {
+                return;
+            }
+            lastSweep = now;
+            verifiedClaims.values().removeIf(claims -> now >= claims.expiresAt());
+            if (verifiedClaims.size() >= claimsCacheSize) {
+                return;
+            }
+        }
+        verifiedClaims.put(digest, entry);
+    }
+
+    private static String digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Principal built from verified claims alone, or null for tokens issued before the claims were added.
+     */
+    public MemberPrincipal getPrincipalFromClaims(Claims claims) {
+        Object memberId = claims.get(CLAIM_MEMBER_ID);
+        Object roles = claims.get(CLAIM_ROLES);
+        if (!(memberId instanceof Number) || !(roles instanceof List)) {
+            return null;
         }
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (Object role : (List<?>) roles) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+        }
+        return new MemberPrincipal(((Number) memberId).longValue(), claims.getSubject(),
+                claims.get(CLAIM_NAME, String.class), null, true, authorities);
+    }
+
+    public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
+    private record VerifiedClaims(Claims claims, long expiresAt) {
     }
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package edu.cit.citforums.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated member. The username is the member's email, which is also the JWT subject.
+ */
+public class MemberPrincipal extends User {
+
+    private final Long id;
+    private final String name;
+
+    public MemberPrincipal(Long id, String email, String name, String password, boolean enabled,
+                           Collection<? extends GrantedAuthority> authorities) {
+        super(email, password != null ? password : "", enabled, true, true, true, authorities);
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
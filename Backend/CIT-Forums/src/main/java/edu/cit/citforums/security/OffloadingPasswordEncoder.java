@@ -0,0 +1,136 @@
+package edu.cit.citforums.security;
+
+import edu.cit.citforums.dto.response.PasswordHashingStatsResponse;
+import edu.cit.citforums.util.LogHistogram;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a CPU-heavy password encoder (BCrypt) on a fixed pool of threads with a bounded queue,
+ * so a login storm uses at most that many cores and leaves the rest to other requests.
+ * <p>
+ * The calling request thread waits for its hash. When the queue is full the call fails
+ * straight away with {@link PasswordHashingRejectedException} instead of queueing further.
+ * Latency is recorded per operation, split into time spent queued and time spent hashing.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder rejected = new LongAdder();
+    private final OperationStats encodeStats = new OperationStats();
+    private final OperationStats matchesStats = new OperationStats();
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.strength = strength;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeStats, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesStats, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Cheap check on the stored hash; stays on the calling thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public PasswordHashingStatsResponse getStats() {
+        return new PasswordHashingStatsResponse(
+                strength,
+                executor.getCorePoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getQueue().remainingCapacity() + executor.getQueue().size(),
+                executor.getCompletedTaskCount(),
+                rejected.sum(),
+                encodeStats.snapshot(),
+                matchesStats.snapshot()
+        );
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(OperationStats stats, Callable<T> operation) {
+        long submitted = System.nanoTime();
+        long[] started = new long[1];
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                started[0] = System.nanoTime();
+                return operation.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many password checks in progress, please retry shortly");
+        }
+
+        try {
+            T result = future.get();
+            stats.record(started[0] - submitted, System.nanoTime() - started[0]);
+            return result;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private static class OperationStats {
+        private final LogHistogram queued = new LogHistogram();
+        private final LogHistogram hashing = new LogHistogram();
+
+        synchronized void record(long queuedNanos, long hashingNanos) {
+            queued.add(queuedNanos / 1_000_000.0);
+            hashing.add(hashingNanos / 1_000_000.0);
+        }
+
+        synchronized PasswordHashingStatsResponse.Operation snapshot() {
+            return new PasswordHashingStatsResponse.Operation(
+                    hashing.getCount(),
+                    quantile(queued, 0.5),
+                    quantile(queued, 0.99),
+                    quantile(hashing, 0.5),
+                    quantile(hashing, 0.99));
+        }
+
+        private static Double quantile(LogHistogram histogram, double q) {
+            return histogram.getCount() == 0 ? null : histogram.quantile(q);
+        }
+    }
+}
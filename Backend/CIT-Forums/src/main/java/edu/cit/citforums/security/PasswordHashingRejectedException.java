@@ -0,0 +1,11 @@
+package edu.cit.citforums.security;
+
+/**
+ * Thrown when the password hashing executor is saturated; reported to clients as 503.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
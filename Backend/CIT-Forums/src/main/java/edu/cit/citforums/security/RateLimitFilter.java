@@ -0,0 +1,175 @@
+package edu.cit.citforums.security;
+
+import edu.cit.citforums.dto.response.RateLimitStatsResponse;
+import edu.cit.citforums.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles login, registration and content creation with one token bucket per client and
+ * route, answering 429 with Retry-After once a bucket is empty.
+ * <p>
+ * Login and registration are limited per IP; comments and posts per member, or per IP
+ * when unauthenticated. Each route's burst and refill rate come from
+ * {@code rate-limit.<route>.capacity} and {@code rate-limit.<route>.refill-per-minute};
+ * a capacity of 0 turns the route off. Full buckets are dropped lazily, at most once a
+ * minute, so memory follows the number of recently active clients. Runs after
+ * {@link JwtAuthenticationFilter} so the member is known.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    @Autowired
+    public RateLimitFilter(Environment environment) {
+        this.enabled = environment.getProperty("rate-limit.enabled", Boolean.class, true);
+        addRoute(environment, "login", "POST", "/api/auth/login", KeyType.IP, 10, 10);
+        addRoute(environment, "register", "POST", "/api/auth/register", KeyType.IP, 5, 2);
+        addRoute(environment, "comment", "POST", "/api/comments", KeyType.MEMBER, 20, 10);
+        addRoute(environment, "post", "POST", "/api/posts/thread/*", KeyType.MEMBER, 20, 10);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(route.name + '|' + clientKey(route, request),
+                key -> new TokenBucket(route.capacity, route.refillPerMinute / 60.0, now));
+        long waitNanos = bucket.tryAcquire(now);
+        sweepIfDue(now);
+
+        if (waitNanos == 0) {
+            route.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, retry in " + retryAfterSeconds + " seconds\"}");
+    }
+
+    public List<RateLimitStatsResponse> getStats() {
+        Map<String, Long> clientsPerRoute = new ConcurrentHashMap<>();
+        buckets.keySet().forEach(key -> clientsPerRoute.merge(key.substring(0, key.indexOf('|')), 1L, Long::sum));
+
+        List<RateLimitStatsResponse> stats = new ArrayList<>();
+        for (Route route : routes) {
+            stats.add(new RateLimitStatsResponse(
+                    route.name,
+                    route.method + " " + route.pattern,
+                    route.keyType.name(),
+                    route.capacity,
+                    route.refillPerMinute,
+                    route.allowed.sum(),
+                    route.rejected.sum(),
+                    clientsPerRoute.getOrDefault(route.name, 0L)));
+        }
+        return stats;
+    }
+
+    private void addRoute(Environment environment, String name, String method, String pattern,
+                          KeyType keyType, int defaultCapacity, double defaultRefillPerMinute) {
+        int capacity = environment.getProperty("rate-limit." + name + ".capacity", Integer.class, defaultCapacity);
+        double refillPerMinute = environment.getProperty(
+                "rate-limit." + name + ".refill-per-minute", Double.class, defaultRefillPerMinute);
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            logger.info("Rate limiting disabled for " + method + " " + pattern);
+            return;
+        }
+        routes.add(new Route(name, method, pattern, keyType, capacity, refillPerMinute));
+    }
+
+    private Route match(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher.matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(Route route, HttpServletRequest request) {
+        if (route.keyType == KeyType.MEMBER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof MemberPrincipal) {
+                return "m" + ((MemberPrincipal) authentication.getPrincipal()).getId();
+            }
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    // A full bucket carries no state, so dropping it is equivalent to keeping it. A request racing
+    // the sweep may drain a bucket that was just dropped, which at worst grants one extra burst.
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private enum KeyType { IP, MEMBER }
+
+    private static class Route {
+        private final String name;
+        private final String method;
+        private final String pattern;
+        private final KeyType keyType;
+        private final int capacity;
+        private final double refillPerMinute;
+        private final AntPathRequestMatcher matcher;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Route(String name, String method, String pattern, KeyType keyType, int capacity, double refillPerMinute) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.keyType = keyType;
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.matcher = new AntPathRequestMatcher(pattern, method);
+        }
+    }
+}
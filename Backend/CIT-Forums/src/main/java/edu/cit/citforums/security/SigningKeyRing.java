@@ -0,0 +1,255 @@
+package edu.cit.citforums.security;
+
+import edu.cit.citforums.models.SigningKey;
+import edu.cit.citforums.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * ES256 keys for signing and verifying JWTs, identified by the {@code kid} token header.
+ * <p>
+ * Every {@code jwt.keys.rotation-days} a new key is created and published straight away
+ * (in the JWKS document), but only starts signing {@code jwt.keys.publish-ahead-ms} later,
+ * so verifiers that cache the JWKS learn it first. The key it replaces stops signing at
+ * that moment and keeps verifying until the last tokens it signed have expired. Nodes
+ * share the keys through the database and reload them periodically and whenever a token
+ * names a key they have not seen.
+ * <p>
+ * Every node runs the same schedule, so creation is decided against the table: the check
+ * is repeated in the creating transaction, and each key takes the next unique generation
+ * number. When nodes race, one insert commits and the others roll back and load its key.
+ * <p>
+ * Private keys are stored unencrypted; restrict access to the {@code jwt_signing_keys} table.
+ */
+@Component
+public class SigningKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyRing.class);
+    private static final long RELOAD_ON_MISS_INTERVAL_MS = 10_000;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long tokenLifetimeMs;
+
+    @Value("${jwt.keys.rotation-days:30}")
+    private int rotationDays;
+
+    @Value("${jwt.keys.publish-ahead-ms:3600000}")
+    private long publishAheadMs;
+
+    // Immutable snapshot ordered by activation
+    private volatile List<RingKey> keys = List.of();
+    private volatile long lastReload;
+
+    @Autowired
+    public SigningKeyRing(SigningKeyRepository signingKeyRepository, JwtConfig jwtConfig,
+                          PlatformTransactionManager transactionManager) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tokenLifetimeMs = jwtConfig.getExpiration();
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        if (keys.isEmpty() && createKey(LocalDateTime.now(), List::isEmpty) != null) {
+            logger.info("Created the first JWT signing key");
+        }
+    }
+
+    /**
+     * The newest key that has started signing.
+     */
+    public RingKey signingKey() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RingKey> current = keys;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            if (!current.get(i).activatesAt().isAfter(now)) {
+                return current.get(i);
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+
+    /**
+     * Public key for the {@code kid}, or null if it is unknown or no longer verifies tokens.
+     */
+    public ECPublicKey verificationKey(String kid) {
+        RingKey key = find(kid);
+        if (key == null && System.currentTimeMillis() - lastReload >= RELOAD_ON_MISS_INTERVAL_MS) {
+            // Possibly rotated in on another node
+            reload();
+            key = find(kid);
+        }
+        return key != null && key.verifiesAt(LocalDateTime.now(), tokenLifetimeMs) ? key.publicKey() : null;
+    }
+
+    /**
+     * Keys that verify tokens now or will sign them soon, for the JWKS document.
+     */
+    public List<RingKey> publishedKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RingKey> published = new ArrayList<>();
+        for (RingKey key : keys) {
+            if (key.verifiesAt(now, tokenLifetimeMs)) {
+                published.add(key);
+            }
+        }
+        return published;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval-ms:60000}")
+    public void maintain() {
+        reload();
+        LocalDateTime now = LocalDateTime.now();
+        List<RingKey> current = keys;
+        if (current.isEmpty()) {
+            init();
+            return;
+        }
+        if (rotationDue(current.get(current.size() - 1).activatesAt(), now)) {
+            rotate(stored -> stored.isEmpty()
+                    || rotationDue(stored.get(stored.size() - 1).getActivatesAt(), LocalDateTime.now()));
+        }
+        for (RingKey key : current) {
+            if (!key.verifiesAt(now, tokenLifetimeMs)) {
+                signingKeyRepository.deleteById(key.kid());
+                logger.info("Deleted expired JWT signing key {}", key.kid());
+            }
+        }
+    }
+
+    /**
+     * Publishes a new key that takes over signing after the publish-ahead period.
+     */
+    public void rotate() {
+        rotate(stored -> true);
+    }
+
+    private void rotate(Predicate<List<SigningKey>> stillNeeded) {
+        LocalDateTime activatesAt = LocalDateTime.now().plusNanos(publishAheadMs * 1_000_000L);
+        String kid = createKey(activatesAt, stillNeeded);
+        if (kid != null) {
+            logger.info("Rotated JWT signing key; {} signs from {}", kid, activatesAt);
+        }
+    }
+
+    private boolean rotationDue(LocalDateTime newestActivatesAt, LocalDateTime now) {
+        return !newestActivatesAt.plusDays(rotationDays).isAfter(now);
+    }
+
+    private RingKey find(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        for (RingKey key : keys) {
+            if (key.kid().equals(kid)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private void reload() {
+        List<RingKey> loaded = new ArrayList<>();
+        for (SigningKey key : signingKeyRepository.findAllByOrderByActivatesAtAsc()) {
+            try {
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                loaded.add(new RingKey(
+                        key.getKid(),
+                        keyFactory.generatePrivate(new PKCS8EncodedKeySpec(key.getPrivateKey())),
+                        (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(key.getPublicKey())),
+                        key.getActivatesAt(),
+                        key.getRetiresAt()));
+            } catch (GeneralSecurityException e) {
+                logger.error("Skipping unreadable JWT signing key {}: {}", key.getKid(), e.getMessage());
+            }
+        }
+        keys = List.copyOf(loaded);
+        lastReload = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates the next key and retires the keys it replaces, if {@code stillNeeded} holds for
+     * the stored keys read in the same transaction. Returns the new kid, or null when the key
+     * was not needed or another node created it first; the ring is reloaded either way.
+     */
+    private synchronized String createKey(LocalDateTime activatesAt, Predicate<List<SigningKey>> stillNeeded) {
+        String kid;
+        try {
+            kid = transactionTemplate.execute(status -> {
+                List<SigningKey> stored = signingKeyRepository.findAllByOrderByActivatesAtAsc();
+                if (!stillNeeded.test(stored)) {
+                    return null;
+                }
+                long generation = stored.stream()
+                        .map(SigningKey::getGeneration)
+                        .filter(Objects::nonNull)
+                        .mapToLong(Long::longValue)
+                        .max()
+                        .orElse(-1) + 1;
+                String created = create(activatesAt, generation);
+                for (SigningKey previous : stored) {
+                    if (previous.getRetiresAt() == null || previous.getRetiresAt().isAfter(activatesAt)) {
+                        previous.setRetiresAt(activatesAt);
+                        signingKeyRepository.save(previous);
+                    }
+                }
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Another node created the next JWT signing key first; loading it instead");
+            kid = null;
+        }
+        reload();
+        return kid;
+    }
+
+    private String create(LocalDateTime activatesAt, long generation) {
+        KeyPair keyPair;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate a P-256 key pair", e);
+        }
+        String kid = UUID.randomUUID().toString();
+        // Flushed so a generation another node already took fails here, before anything is retired
+        signingKeyRepository.saveAndFlush(new SigningKey(kid, keyPair.getPrivate().getEncoded(),
+                keyPair.getPublic().getEncoded(), LocalDateTime.now(), activatesAt, null, generation));
+        return kid;
+    }
+
+    public record RingKey(String kid, PrivateKey privateKey, ECPublicKey publicKey,
+                          LocalDateTime activatesAt, LocalDateTime retiresAt) {
+
+        boolean verifiesAt(LocalDateTime now, long tokenLifetimeMs) {
+            return retiresAt == null || retiresAt.plusNanos(tokenLifetimeMs * 1_000_000L).isAfter(now);
+        }
+    }
+}
@@ -9,12 +9,15 @@ import edu.cit.citforums.models.Member;
 import edu.cit.citforums.models.Post;
 import edu.cit.citforums.repository.CommentRepository;
 import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.service.analytics.ActivityEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,18 +29,25 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final MemberService memberService;
+    private final ThreadService threadService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public CommentServiceImpl(
             CommentRepository commentRepository,
             PostRepository postRepository,
-            MemberService memberService) {
+            MemberService memberService,
+            ThreadService threadService,
+            ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.memberService = memberService;
+        this.threadService = threadService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(CommentRequest commentRequest, Long authorId) {
         // Get the post
         Post post = postRepository.findById(commentRequest.getPostId())
@@ -51,11 +61,16 @@ public class CommentServiceImpl implements CommentService {
         comment.setContent(commentRequest.getContent());
         comment.setParentPost(post);
         comment.setAuthor(author);
-        comment.setCreatedAt(LocalDateTime.now());
-        comment.setUpdatedAt(LocalDateTime.now());
+        
+        // Lock the thread first, as in PostServiceImpl, then save with the same reply time
+        LocalDateTime repliedAt = LocalDateTime.now();
+        LocalDateTime previousActivity = threadService.recordReply(post.getThread(), repliedAt);
+        comment.setCreatedAt(repliedAt);
+        comment.setUpdatedAt(repliedAt);
         
         // Save and return
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(ActivityEvent.comment(savedComment, previousActivity));
         return mapToDto(savedComment);
     }
 
@@ -1,11 +1,15 @@
 package edu.cit.citforums.service;
 
+import edu.cit.citforums.dto.response.UserCacheStatsResponse;
 import edu.cit.citforums.models.Member;
 import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.security.MemberPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,29 +17,170 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Loads members for login and token revalidation.
+ * <p>
+ * Loaded members are cached for {@code security.user-cache.ttl-ms} under both their email
+ * and their name, up to {@code security.user-cache.max-entries} keys. {@link MemberService}
+ * evicts a member whenever it changes or deletes one; a load that overlaps an eviction of
+ * the same member is not cached, so it cannot bring back the old row. Every lookup returns a fresh
+ * principal, because Spring Security erases the password of the one it authenticates.
+ * <p>
+ * After a successful login whose stored hash uses a lower cost than
+ * {@code security.bcrypt.strength}, Spring Security re-encodes the password and stores it
+ * through {@link #updatePassword}.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final int EVICTION_STRIPES = 1024;
 
     @Autowired
     private MemberRepository memberRepository;
 
+    @Value("${security.user-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${security.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedMember> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Eviction sequence number, and the last one applied to each stripe of member ids
+    private final AtomicLong evictionSequence = new AtomicLong();
+    private final AtomicLongArray lastEviction = new AtomicLongArray(EVICTION_STRIPES);
+    private volatile long lastSweep;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedMember cached = cache.get(usernameOrEmail);
+        if (cached != null && now < cached.expiresAt()) {
+            hits.increment();
+            return cached.toPrincipal();
+        }
+        misses.increment();
+        long loadStartedAfter = evictionSequence.get();
+
         // Let users login with either email or username
         Member member = memberRepository.findByEmail(usernameOrEmail)
                 .orElseGet(() -> memberRepository.findByName(usernameOrEmail)
                         .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail))
                 );
 
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        List<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+        if (member.isAdmin()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
 
-        return new User(
+        CachedMember loaded = new CachedMember(
+                member.getId(),
                 member.getEmail(),
+                member.getName(),
                 member.getPassword(),
-                authorities
+                member.isActive(),
+                List.copyOf(authorities),
+                now + ttlMs
+        );
+        cache(loaded, now, loadStartedAfter);
+        return loaded.toPrincipal();
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Member member = memberRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        member.setPassword(newPassword);
+        memberRepository.save(member);
+        evict(member.getId());
+
+        return new MemberPrincipal(
+                member.getId(),
+                member.getEmail(),
+                member.getName(),
+                newPassword,
+                user.isEnabled(),
+                user.getAuthorities()
         );
     }
-} 
\ No newline at end of file
+
+    /**
+     * Drops the cached entries of a member; call after changing or deleting it.
+     */
+    public void evict(Long memberId) {
+        if (memberId == null) {
+            return;
+        }
+        // Recorded before removing, so a concurrent load either sees it or is removed here
+        lastEviction.accumulateAndGet(stripe(memberId), evictionSequence.incrementAndGet(), Math::max);
+        if (cache.values().removeIf(cached -> memberId.equals(cached.id()))) {
+            evictions.increment();
+        }
+    }
+
+    public UserCacheStatsResponse getCacheStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new UserCacheStatsResponse(
+                cache.size(),
+                maxEntries,
+                ttlMs,
+                hitCount,
+                missCount,
+                lookups == 0 ? 0 : (double) hitCount / lookups,
+                evictions.sum()
+        );
+    }
+
+    private void cache(CachedMember loaded, long now, long loadStartedAfter) {
+        if (maxEntries <= 0 || ttlMs <= 0) {
+            return;
+        }
+        if (cache.size() + 2 > maxEntries) {
+            // Sweep at most once a second so a full cache does not cost a scan per lookup
+            if (now - lastSweep < 1000) {
+                return;
+            }
+            lastSweep = now;
+            cache.values().removeIf(cached -> now >= cached.expiresAt());
+            if (cache.size() + 2 > maxEntries) {
+                return;
+            }
+        }
+        cache.put(loaded.email(), loaded);
+        if (loaded.name() != null) {
+            cache.put(loaded.name(), loaded);
+        }
+        // The member was evicted while it was being read, so what was read may already be stale
+        if (lastEviction.get(stripe(loaded.id())) > loadStartedAfter) {
+            cache.remove(loaded.email(), loaded);
+            if (loaded.name() != null) {
+                cache.remove(loaded.name(), loaded);
+            }
+        }
+    }
+
+    private static int stripe(Long memberId) {
+        return (int) Math.floorMod(memberId, (long) EVICTION_STRIPES);
+    }
+
+    private record CachedMember(Long id, String email, String name, String password, boolean enabled,
+                                List<GrantedAuthority> authorities, long expiresAt) {
+
+        MemberPrincipal toPrincipal() {
+            return new MemberPrincipal(id, email, name, password, enabled, authorities);
+        }
+    }
+}
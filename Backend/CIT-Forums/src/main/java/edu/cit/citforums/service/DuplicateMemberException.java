@@ -0,0 +1,11 @@
+package edu.cit.citforums.service;
+
+/**
+ * Thrown when a member's name or email is already taken; reported to clients as 409.
+ */
+public class DuplicateMemberException extends RuntimeException {
+
+    public DuplicateMemberException(String message) {
+        super(message);
+    }
+}
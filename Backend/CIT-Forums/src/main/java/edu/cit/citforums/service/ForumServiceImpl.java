@@ -10,9 +10,12 @@ import edu.cit.citforums.models.Member;
 import edu.cit.citforums.repository.ForumRepository;
 import edu.cit.citforums.repository.ThreadRepository;
 import edu.cit.citforums.service.MemberService;
+import edu.cit.citforums.service.search.SearchBackend;
+import edu.cit.citforums.service.search.SearchIndexEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,12 +34,16 @@ public class ForumServiceImpl implements ForumService {
     private final ForumRepository forumRepository;
     private final MemberService memberService;
     private final ThreadRepository threadRepository;
+    private final SearchBackend searchBackend;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ForumServiceImpl(ForumRepository forumRepository, MemberService memberService, ThreadRepository threadRepository) {
+    public ForumServiceImpl(ForumRepository forumRepository, MemberService memberService, ThreadRepository threadRepository, SearchBackend searchBackend, ApplicationEventPublisher eventPublisher) {
         this.forumRepository = forumRepository;
         this.memberService = memberService;
         this.threadRepository = threadRepository;
+        this.searchBackend = searchBackend;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -61,6 +68,7 @@ public class ForumServiceImpl implements ForumService {
         
         Forum savedForum = forumRepository.save(forum);
         logger.info("Forum saved successfully with ID: {}", savedForum.getId());
+        eventPublisher.publishEvent(SearchIndexEvent.indexForum(savedForum));
         
         ForumDto result = mapToDto(savedForum);
         logger.info("Mapped forum to DTO: {}", result);
@@ -83,6 +91,7 @@ public class ForumServiceImpl implements ForumService {
         forum.setUpdatedAt(LocalDateTime.now());
         
         Forum updatedForum = forumRepository.save(forum);
+        eventPublisher.publishEvent(SearchIndexEvent.indexForum(updatedForum));
         return mapToDto(updatedForum);
     }
 
@@ -91,6 +100,7 @@ public class ForumServiceImpl implements ForumService {
     public void deleteForum(Long forumId) {
         Forum forum = getForumEntity(forumId);
         forumRepository.delete(forum);
+        eventPublisher.publishEvent(SearchIndexEvent.removeForum(forumId));
     }
 
     @Override
@@ -116,7 +126,7 @@ public class ForumServiceImpl implements ForumService {
         logger.info("Searching forums with query: '{}' - page: {}, size: {}", query, page, size);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Forum> forumPage = forumRepository.searchForums(query, pageable);
+        Page<Forum> forumPage = searchBackend.searchForums(query, pageable);
         
         logger.info("Found {} forums matching query out of {} total", forumPage.getContent().size(), forumPage.getTotalElements());
         
@@ -148,6 +158,7 @@ public class ForumServiceImpl implements ForumService {
             Forum firstForum = forums.get(0);
             logger.info("Found forum to delete: {}", firstForum.getTitle());
             forumRepository.delete(firstForum);
+            eventPublisher.publishEvent(SearchIndexEvent.removeForum(firstForum.getId()));
             logger.info("Successfully deleted forum: {}", firstForum.getTitle());
         } else {
             logger.warn("No forums found with category: {}", category);
@@ -0,0 +1,114 @@
+package edu.cit.citforums.service;
+
+import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.util.BloomFilter;
+import edu.cit.citforums.util.RebuildableBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Answers "is this name / email taken?" for the signup form without a query per keystroke.
+ * <p>
+ * Taken names and emails are kept in two Bloom filters. A value the filter has never seen
+ * is certainly free; anything else is confirmed against the database. Values are folded to
+ * lower case without accents or surrounding spaces, so every value the case- and
+ * accent-insensitive unique indexes consider equal maps to the same entry. Released names and
+ * emails stay in the filters until the nightly rebuild, which also resizes them; until
+ * then they merely cost a query.
+ */
+@Service
+public class MemberAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberAvailabilityService.class);
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final MemberRepository memberRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${members.availability.expected-members:10000}")
+    private long expectedMembers;
+
+    @Value("${members.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final RebuildableBloomFilter takenNames = new RebuildableBloomFilter();
+    private final RebuildableBloomFilter takenEmails = new RebuildableBloomFilter();
+
+    @Autowired
+    public MemberAvailabilityService(MemberRepository memberRepository, JdbcTemplate jdbcTemplate) {
+        this.memberRepository = memberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${members.availability.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        takenNames.startRebuild();
+        takenEmails.startRebuild();
+
+        BloomFilter names;
+        BloomFilter emails;
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM members", Long.class);
+            // Room for twice the current members before the next rebuild
+            long capacity = Math.max(expectedMembers, 2 * (count != null ? count : 0));
+            names = new BloomFilter(capacity, falsePositiveRate);
+            emails = new BloomFilter(capacity, falsePositiveRate);
+            jdbcTemplate.query("SELECT name, email FROM members", rs -> {
+                names.add(normalize(rs.getString(1)));
+                emails.add(normalize(rs.getString(2)));
+            });
+            logger.info("Built member availability filters for {} members", count);
+        } catch (RuntimeException e) {
+            takenNames.cancelRebuild();
+            takenEmails.cancelRebuild();
+            // Without filters every check goes to the database
+            logger.warn("Could not build member availability filters: {}", e.getMessage());
+            return;
+        }
+
+        takenNames.finishRebuild(names);
+        takenEmails.finishRebuild(emails);
+    }
+
+    /**
+     * Records a name and email as taken; call after a member is saved.
+     */
+    public void markTaken(String name, String email) {
+        takenNames.add(normalize(name));
+        takenEmails.add(normalize(email));
+    }
+
+    public boolean isNameTaken(String name) {
+        if (name == null || !takenNames.mightContain(normalize(name))) {
+            return false;
+        }
+        return memberRepository.existsByName(name);
+    }
+
+    public boolean isEmailTaken(String email) {
+        if (email == null || !takenEmails.mightContain(normalize(email))) {
+            return false;
+        }
+        return memberRepository.existsByEmail(email);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return withoutAccents.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -9,9 +9,13 @@ import edu.cit.citforums.models.Member;
 import edu.cit.citforums.models.Post;
 import edu.cit.citforums.models.Thread;
 import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.service.analytics.ActivityEvent;
+import edu.cit.citforums.service.search.SearchBackend;
+import edu.cit.citforums.service.search.SearchIndexEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -32,17 +36,23 @@ public class PostServiceImpl implements PostService {
     private final ThreadService threadService;
     private final MemberService memberService;
     private final CommentService commentService;
+    private final SearchBackend searchBackend;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public PostServiceImpl(
             PostRepository postRepository,
             ThreadService threadService,
             MemberService memberService,
-            CommentService commentService) {
+            CommentService commentService,
+            SearchBackend searchBackend,
+            ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
         this.threadService = threadService;
         this.memberService = memberService;
         this.commentService = commentService;
+        this.searchBackend = searchBackend;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -59,8 +69,16 @@ public class PostServiceImpl implements PostService {
         post.setCreatedBy(author);
         post.setActive(true);
         
+        // Lock the thread before the insert takes a shared lock on it through the foreign key;
+        // taking the exclusive lock second would deadlock concurrent replies to the same thread
+        LocalDateTime repliedAt = LocalDateTime.now();
+        LocalDateTime previousActivity = threadService.recordReply(thread, repliedAt);
+        post.setCreatedAt(repliedAt);
+        
         Post savedPost = postRepository.save(post);
         logger.info("Post saved successfully with ID: {}", savedPost.getId());
+        eventPublisher.publishEvent(SearchIndexEvent.indexPost(savedPost));
+        eventPublisher.publishEvent(ActivityEvent.post(savedPost, previousActivity));
         
         return mapToDto(savedPost);
     }
@@ -74,7 +92,9 @@ public class PostServiceImpl implements PostService {
         post.setUpdatedAt(LocalDateTime.now());
         post.setEdited(true);
         
-        return mapToDto(postRepository.save(post));
+        Post updatedPost = postRepository.save(post);
+        eventPublisher.publishEvent(SearchIndexEvent.indexPost(updatedPost));
+        return mapToDto(updatedPost);
     }
 
     @Override
@@ -82,6 +102,7 @@ public class PostServiceImpl implements PostService {
     public void deletePost(Long postId) {
         Post post = getPostEntity(postId);
         postRepository.delete(post);
+        eventPublisher.publishEvent(SearchIndexEvent.removePost(postId));
     }
 
     @Override
@@ -112,7 +133,7 @@ public class PostServiceImpl implements PostService {
         logger.info("Searching posts with query: '{}' - page: {}, size: {}", query, page, size);
         
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Post> postPage = postRepository.searchPosts(query, pageRequest);
+        Page<Post> postPage = searchBackend.searchPosts(query, pageRequest);
         
         logger.info("Found {} posts matching query out of {} total", postPage.getContent().size(), postPage.getTotalElements());
         
@@ -0,0 +1,132 @@
+package edu.cit.citforums.service;
+
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.models.RefreshToken;
+import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.repository.RefreshTokenRepository;
+import edu.cit.citforums.security.InvalidRefreshTokenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens with rotation, so access tokens can be short-lived.
+ * <p>
+ * A login starts a token family. Every refresh marks the presented token as used and issues
+ * its replacement in the same family. Presenting a used token again means a copy leaked, so
+ * the whole family is revoked and both holders have to log in again. Only SHA-256 hashes of
+ * the tokens are stored.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MemberRepository memberRepository;
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private long refreshExpirationMs;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, MemberRepository memberRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.memberRepository = memberRepository;
+    }
+
+    /**
+     * Starts a new token family for a login and returns its first token.
+     */
+    @Transactional
+    public String issue(Long memberId) {
+        return create(memberId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one and returns it with the current member, whose
+     * roles go into the new access token.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findForUpdate(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+
+        if (current.getUsedAt() != null) {
+            logger.warn("Refresh token reused for member {}, revoking its token family", current.getMemberId());
+            refreshTokenRepository.deleteFamily(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(current.getExpiresAt())) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        Member member = memberRepository.findById(current.getMemberId()).orElse(null);
+        if (member == null || !member.isActive()) {
+            refreshTokenRepository.deleteFamily(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Account is no longer active");
+        }
+
+        current.setUsedAt(now);
+        refreshTokenRepository.save(current);
+        return new Rotation(member, create(member.getId(), current.getFamilyId()));
+    }
+
+    /**
+     * Revokes the family of the given token, if it exists; used on logout.
+     */
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findForUpdate(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(cron = "${jwt.refresh-prune-cron:0 45 3 * * *}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Pruned {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String create(Long memberId, String familyId) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setMemberId(memberId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    // The tokens are random, so a plain hash is enough; no salt or work factor is needed
+    private static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record Rotation(Member member, String refreshToken) {
+    }
+}
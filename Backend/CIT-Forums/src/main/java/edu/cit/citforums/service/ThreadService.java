@@ -5,6 +5,8 @@ import edu.cit.citforums.dto.request.ThreadRequest;
 import edu.cit.citforums.models.Thread;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
+
 public interface ThreadService {
     ThreadDto createThread(ThreadRequest threadRequest, Long forumId, Long creatorId);
     ThreadDto updateThread(Long threadId, ThreadRequest threadRequest);
@@ -13,4 +15,5 @@ public interface ThreadService {
     Page<ThreadDto> getThreadsByForum(Long forumId, int page, int size);
     Page<ThreadDto> searchThreads(String query, int page, int size);
     Thread getThreadEntity(Long threadId);
+    LocalDateTime recordReply(Thread thread, LocalDateTime repliedAt);
 } 
\ No newline at end of file
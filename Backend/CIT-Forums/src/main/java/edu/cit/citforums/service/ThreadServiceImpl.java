@@ -7,9 +7,13 @@ import edu.cit.citforums.models.Forum;
 import edu.cit.citforums.models.Member;
 import edu.cit.citforums.models.Thread;
 import edu.cit.citforums.repository.ThreadRepository;
+import edu.cit.citforums.service.analytics.ActivityEvent;
+import edu.cit.citforums.service.search.SearchBackend;
+import edu.cit.citforums.service.search.SearchIndexEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -25,12 +29,16 @@ public class ThreadServiceImpl implements ThreadService {
     private final ThreadRepository threadRepository;
     private final ForumService forumService;
     private final MemberService memberService;
+    private final SearchBackend searchBackend;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ThreadServiceImpl(ThreadRepository threadRepository, ForumService forumService, MemberService memberService) {
+    public ThreadServiceImpl(ThreadRepository threadRepository, ForumService forumService, MemberService memberService, SearchBackend searchBackend, ApplicationEventPublisher eventPublisher) {
         this.threadRepository = threadRepository;
         this.forumService = forumService;
         this.memberService = memberService;
+        this.searchBackend = searchBackend;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -51,6 +59,8 @@ public class ThreadServiceImpl implements ThreadService {
         
         Thread savedThread = threadRepository.save(thread);
         logger.info("Thread saved successfully with ID: {}", savedThread.getId());
+        eventPublisher.publishEvent(SearchIndexEvent.indexThread(savedThread));
+        eventPublisher.publishEvent(ActivityEvent.thread(savedThread));
         
         return mapToDto(savedThread);
     }
@@ -64,7 +74,9 @@ public class ThreadServiceImpl implements ThreadService {
         thread.setContent(threadRequest.getContent());
         thread.setUpdatedAt(LocalDateTime.now());
         
-        return mapToDto(threadRepository.save(thread));
+        Thread updatedThread = threadRepository.save(thread);
+        eventPublisher.publishEvent(SearchIndexEvent.indexThread(updatedThread));
+        return mapToDto(updatedThread);
     }
 
     @Override
@@ -72,11 +84,14 @@ public class ThreadServiceImpl implements ThreadService {
     public void deleteThread(Long threadId) {
         Thread thread = getThreadEntity(threadId);
         threadRepository.delete(thread);
+        eventPublisher.publishEvent(SearchIndexEvent.removeThread(threadId));
     }
 
     @Override
     public ThreadDto getThread(Long threadId) {
-        return mapToDto(getThreadEntity(threadId));
+        Thread thread = getThreadEntity(threadId);
+        eventPublisher.publishEvent(ActivityEvent.view(thread));
+        return mapToDto(thread);
     }
 
     @Override
@@ -96,7 +111,7 @@ public class ThreadServiceImpl implements ThreadService {
         logger.info("Searching threads with query: '{}' - page: {}, size: {}", query, page, size);
         
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Thread> threadPage = threadRepository.searchThreads(query, pageRequest);
+        Page<Thread> threadPage = searchBackend.searchThreads(query, pageRequest);
         
         logger.info("Found {} threads matching query out of {} total", threadPage.getContent().size(), threadPage.getTotalElements());
         
@@ -109,6 +124,20 @@ public class ThreadServiceImpl implements ThreadService {
                 .orElseThrow(() -> new RuntimeException("Thread not found with ID: " + threadId));
     }
 
+    /**
+     * Moves the thread's last activity to the reply time and returns the previous value.
+     * The row stays locked until the caller's transaction ends, so each previous value is
+     * returned to exactly one reply. Call it before inserting the reply: the insert's foreign
+     * key check takes a shared lock on the thread, and upgrading from it would deadlock.
+     */
+    @Override
+    @Transactional
+    public LocalDateTime recordReply(Thread thread, LocalDateTime repliedAt) {
+        LocalDateTime previous = threadRepository.findLastActivityForUpdate(thread.getId()).orElse(null);
+        threadRepository.updateLastActivity(thread.getId(), repliedAt);
+        return previous;
+    }
+
     private ThreadDto mapToDto(Thread thread) {
         MemberSummaryDto creatorDto = null;
         if (thread.getCreatedBy() != null) {
@@ -0,0 +1,138 @@
+package edu.cit.citforums.service;
+
+import edu.cit.citforums.models.RevokedToken;
+import edu.cit.citforums.repository.RevokedTokenRepository;
+import edu.cit.citforums.util.BloomFilter;
+import edu.cit.citforums.util.RebuildableBloomFilter;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Revoked JWT ids (jti), persisted in {@code revoked_tokens} and mirrored in an in-memory
+ * Bloom filter so the check on every authenticated request costs no query unless the
+ * filter reports a possible match.
+ * <p>
+ * The filter is rebuilt from the unexpired rows on startup and after expired rows are
+ * pruned, sized for at least {@code security.revocation.expected-tokens}. Revocations made
+ * while a rebuild runs are queued and added to the new filter before it is swapped in.
+ * <p>
+ * Revocations made by other instances only reach this filter through the table, so rows
+ * revoked since the last load are added every {@code security.revocation.sync-interval-ms}.
+ * Each load reaches back {@link #SYNC_OVERLAP} further, to cover transactions that committed
+ * late and clock differences between instances. A revocation made on another instance is
+ * therefore enforced here within about one sync interval.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${security.revocation.expected-tokens:10000}")
+    private long expectedTokens;
+
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final RebuildableBloomFilter filter = new RebuildableBloomFilter();
+
+    // Start of the last load of revoked ids, null until the first rebuild succeeds
+    private volatile LocalDateTime lastLoad;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, PlatformTransactionManager transactionManager) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        filter.startRebuild();
+
+        BloomFilter rebuilt;
+        LocalDateTime loadStart = LocalDateTime.now();
+        try {
+            List<String> ids = revokedTokenRepository.findUnexpiredIds(LocalDateTime.now());
+            // Room for twice the current revocations before the next rebuild
+            rebuilt = new BloomFilter(Math.max(expectedTokens, 2L * ids.size()), falsePositiveRate);
+            ids.forEach(rebuilt::add);
+            logger.info("Built token revocation filter with {} revoked tokens", ids.size());
+        } catch (RuntimeException e) {
+            filter.cancelRebuild();
+            // Without a filter every check falls through to the table
+            logger.warn("Could not build token revocation filter: {}", e.getMessage());
+            return;
+        }
+
+        filter.finishRebuild(rebuilt);
+        lastLoad = loadStart;
+    }
+
+    /**
+     * Adds ids revoked on any instance since the last load.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:5000}")
+    public void syncRecent() {
+        LocalDateTime since = lastLoad;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime loadStart = LocalDateTime.now();
+        List<String> ids;
+        try {
+            ids = revokedTokenRepository.findIdsRevokedSince(since.minus(SYNC_OVERLAP), loadStart);
+        } catch (RuntimeException e) {
+            logger.warn("Could not load recent token revocations: {}", e.getMessage());
+            return;
+        }
+        ids.forEach(filter::add);
+        lastLoad = loadStart;
+    }
+
+    /**
+     * Revokes the token until its expiry. Tokens without an id or expiry cannot be revoked.
+     */
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || claims.getExpiration() == null) {
+            throw new IllegalArgumentException("Token has no id or expiry and cannot be revoked");
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, LocalDateTime.now()));
+        filter.add(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.isRevoked(jti, LocalDateTime.now());
+    }
+
+    // Bloom filters cannot forget, so expired ids are dropped by rebuilding without them
+    @Scheduled(cron = "${security.revocation.prune-cron:0 15 * * * *}")
+    public void pruneExpired() {
+        Integer deleted = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            logger.info("Pruned {} expired revoked tokens", deleted);
+            rebuild();
+        }
+    }
+}
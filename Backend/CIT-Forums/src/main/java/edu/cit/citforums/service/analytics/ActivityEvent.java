@@ -0,0 +1,68 @@
+package edu.cit.citforums.service.analytics;
+
+import edu.cit.citforums.models.Comment;
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the services whenever a member registers, creates content or a thread is viewed.
+ * Listeners use {@code @TransactionalEventListener} so they only see committed writes.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ActivityEvent {
+
+    // Ordinals are stored in the activity journal, so only ever append new types
+    public enum Type {
+        REGISTRATION,
+        THREAD,
+        POST,
+        COMMENT,
+        VIEW
+    }
+
+    private final Type type;
+    private final Long memberId;
+    private final Long entityId;
+    private final Long forumId;
+    private final Long threadId;
+    private final LocalDateTime occurredAt;
+    // For replies (posts and comments): when the thread was created and its last activity before this reply
+    private final LocalDateTime threadCreatedAt;
+    private final LocalDateTime previousThreadActivity;
+
+    public static ActivityEvent registration(Member member) {
+        return new ActivityEvent(Type.REGISTRATION, member.getId(), member.getId(), null, null, member.getCreatedAt(), null, null);
+    }
+
+    public static ActivityEvent thread(Thread thread) {
+        return new ActivityEvent(Type.THREAD, thread.getAuthor().getId(), thread.getId(),
+                thread.getForum().getId(), thread.getId(), thread.getCreatedAt(), thread.getCreatedAt(), null);
+    }
+
+    public static ActivityEvent post(Post post, LocalDateTime previousThreadActivity) {
+        Thread thread = post.getThread();
+        return new ActivityEvent(Type.POST, post.getCreatedBy().getId(), post.getId(),
+                thread.getForum().getId(), thread.getId(), post.getCreatedAt(),
+                thread.getCreatedAt(), previousThreadActivity);
+    }
+
+    public static ActivityEvent comment(Comment comment, LocalDateTime previousThreadActivity) {
+        Thread thread = comment.getParentPost().getThread();
+        return new ActivityEvent(Type.COMMENT, comment.getAuthor().getId(), comment.getId(),
+                thread.getForum().getId(), thread.getId(), comment.getCreatedAt(),
+                thread.getCreatedAt(), previousThreadActivity);
+    }
+
+    public static ActivityEvent view(Thread thread) {
+        return new ActivityEvent(Type.VIEW, null, thread.getId(),
+                thread.getForum().getId(), thread.getId(), LocalDateTime.now(), thread.getCreatedAt(), null);
+    }
+}
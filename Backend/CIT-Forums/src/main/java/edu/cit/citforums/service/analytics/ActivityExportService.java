@@ -0,0 +1,127 @@
+package edu.cit.citforums.service.analytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes analytics exports straight to an output stream.
+ * <p>
+ * Raw events are read through the streaming cursor of {@link PeriodBucketingEngine} and
+ * written row by row, so heap use does not grow with the export size and the first bytes
+ * leave as soon as the database returns the first row. Events are grouped by type
+ * (registrations, then threads, then comments) rather than sorted, since sorting would make
+ * the database materialize the whole range first.
+ */
+@Service
+public class ActivityExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String EVENTS_SQL =
+            "SELECT 'registration', id, id, NULL, created_at FROM members WHERE created_at >= ? AND created_at < ? " +
+            "UNION ALL " +
+            "SELECT 'thread', id, author_id, id, created_at FROM threads WHERE created_at >= ? AND created_at < ? " +
+            "UNION ALL " +
+            "SELECT 'comment', id, author_id, thread_id, created_at FROM comments WHERE created_at >= ? AND created_at < ?";
+
+    private final UserActivityService userActivityService;
+    private final PeriodBucketingEngine bucketingEngine;
+
+    @Autowired
+    public ActivityExportService(UserActivityService userActivityService, PeriodBucketingEngine bucketingEngine) {
+        this.userActivityService = userActivityService;
+        this.bucketingEngine = bucketingEngine;
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format fromName(String name) {
+            return valueOf(name.toUpperCase());
+        }
+    }
+
+    /**
+     * One line per period with all four user-activity series.
+     */
+    public void writeSeries(OutputStream out, boolean gzip, Format format,
+                            LocalDate startDate, LocalDate endDate, ActivityPeriod period) throws IOException {
+        UserActivitySeries series = userActivityService.getUserActivity(startDate, endDate, period);
+        long[] registrations = series.getRegistrations().getValues();
+        long[] threads = series.getThreads().getValues();
+        long[] comments = series.getComments().getValues();
+        long[] activeUsers = series.getActiveUsers().getValues();
+
+        try (Writer writer = open(out, gzip)) {
+            if (format == Format.CSV) {
+                writer.write("period,registrations,threads,comments,active_users\n");
+            }
+            for (int i = 0; i < registrations.length; i++) {
+                String label = period.label(series.getRegistrations().periodStart(i));
+                if (format == Format.CSV) {
+                    writer.write(label + ',' + registrations[i] + ',' + threads[i] + ',' + comments[i] + ',' + activeUsers[i] + '\n');
+                } else {
+                    writer.write("{\"period\":\"" + label + "\",\"registrations\":" + registrations[i]
+                            + ",\"threads\":" + threads[i] + ",\"comments\":" + comments[i]
+                            + ",\"activeUsers\":" + activeUsers[i] + "}\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * One line per registration, thread and comment created in the inclusive date range.
+     */
+    public void writeEvents(OutputStream out, boolean gzip, Format format,
+                            LocalDate startDate, LocalDate endDate) throws IOException {
+        Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+
+        try (Writer writer = open(out, gzip)) {
+            if (format == Format.CSV) {
+                writer.write("type,id,member_id,thread_id,created_at\n");
+            }
+            // Commit the response before the database starts scanning
+            writer.flush();
+            bucketingEngine.streamRows(EVENTS_SQL, rs -> {
+                String type = rs.getString(1);
+                long id = rs.getLong(2);
+                long memberId = rs.getLong(3);
+                long threadId = rs.getLong(4);
+                boolean hasThread = !rs.wasNull();
+                String createdAt = String.valueOf(rs.getTimestamp(5).toLocalDateTime());
+                try {
+                    if (format == Format.CSV) {
+                        writer.write(type + ',' + id + ',' + memberId + ',' + (hasThread ? threadId : "") + ',' + createdAt + '\n');
+                    } else {
+                        writer.write("{\"type\":\"" + type + "\",\"id\":" + id + ",\"memberId\":" + memberId
+                                + ",\"threadId\":" + (hasThread ? threadId : "null")
+                                + ",\"createdAt\":\"" + createdAt + "\"}\n");
+                    }
+                } catch (IOException e) {
+                    // Typically the client went away; abort the query instead of reading the rest
+                    throw new UncheckedIOException(e);
+                }
+            }, start, end, start, end, start, end);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Writer open(OutputStream out, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : out;
+        return new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
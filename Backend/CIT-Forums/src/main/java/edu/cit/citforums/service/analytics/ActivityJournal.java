@@ -0,0 +1,259 @@
+package edu.cit.citforums.service.analytics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary journal of committed activity (registrations, threads, posts,
+ * comments and thread views), so analytics and replay tools can scan sequential bytes
+ * instead of querying the OLTP tables.
+ * <p>
+ * Records are fixed-width (see {@link JournalSegment}) and stored in memory-mapped segment
+ * files named after the sequence number of their first record. A new segment is started
+ * when the current one is full, and whole segments older than the retention period are
+ * deleted. Mapped pages are forced to disk on a fixed delay, on rollover and on shutdown.
+ * <p>
+ * Events are only queued on the committing thread; a scheduled writer appends them in
+ * batches, so a process crash loses at most the queued records and an OS crash at most
+ * the last force interval. When the queue is full, new records are dropped and counted.
+ * <p>
+ * Off by default. Enabling it requires an absolute {@code analytics.journal.dir}, so the
+ * files do not land wherever the process happened to be started.
+ */
+@Service
+public class ActivityJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityJournal.class);
+    private static final String SEGMENT_PREFIX = "activity-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    @Value("${analytics.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${analytics.journal.dir:}")
+    private String directory;
+
+    @Value("${analytics.journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${analytics.journal.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${analytics.journal.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Ordered by base sequence; the last one is the segment being written
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final Object writeLock = new Object();
+    private final LongAdder dropped = new LongAdder();
+    private BlockingQueue<ActivityEvent> pending;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (segmentSizeMb < 1 || segmentSizeMb > 1024) {
+            throw new IllegalStateException("analytics.journal.segment-size-mb must be between 1 and 1024");
+        }
+        if (directory.isBlank() || !Paths.get(directory).isAbsolute()) {
+            throw new IllegalStateException("analytics.journal.dir must be an absolute directory when the journal is enabled");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalStateException("analytics.journal.queue-capacity must be positive");
+        }
+        pending = new ArrayBlockingQueue<>(queueCapacity);
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(dir)) {
+            listing.filter(ActivityJournal::isSegmentFile).sorted().forEach(files::add);
+        }
+        for (Path file : files) {
+            segments.add(JournalSegment.open(file, baseSequenceOf(file), segmentCapacity()));
+        }
+        if (segments.isEmpty()) {
+            segments.add(createSegment(0));
+        }
+        logger.info("Activity journal opened in {} with {} segment(s), next sequence {}",
+                dir.toAbsolutePath(), segments.size(), nextSequence());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(ActivityEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!pending.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Appends the queued events; runs on a short fixed delay and once more on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${analytics.journal.write-interval-ms:200}")
+    public void writePending() {
+        if (!enabled) {
+            return;
+        }
+        List<ActivityEvent> batch = new ArrayList<>();
+        while (pending.drainTo(batch, 1000) > 0) {
+            for (ActivityEvent event : batch) {
+                try {
+                    append(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not journal {}: {}", event, e.getMessage());
+                }
+            }
+            batch.clear();
+        }
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            logger.warn("Dropped {} activity event(s) because the journal queue was full", lost);
+        }
+    }
+
+    public void append(ActivityEvent event) {
+        long occurredAt = toEpochMillis(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now());
+        synchronized (writeLock) {
+            JournalSegment active = segments.get(segments.size() - 1);
+            if (active.isFull()) {
+                active.force();
+                active = createSegment(active.getBaseSequence() + active.getCount());
+                segments.add(active);
+            }
+            active.append(occurredAt, idOrZero(event.getMemberId()), idOrZero(event.getEntityId()),
+                    idOrZero(event.getForumId()), idOrZero(event.getThreadId()), event.getType().ordinal());
+        }
+    }
+
+    /**
+     * Visits every journaled record that occurred in {@code [from, to)}, in append order.
+     * Records appended while the scan runs may or may not be visited.
+     */
+    public void scan(LocalDateTime from, LocalDateTime to, RecordVisitor visitor) {
+        long fromMillis = toEpochMillis(from);
+        long toMillis = toEpochMillis(to);
+        for (JournalSegment segment : segments) {
+            if (segment.maxOccurredAt() < fromMillis) {
+                // Records are in commit order, not occurrence order, so only the latest one bounds the segment
+                continue;
+            }
+            segment.forEach((sequence, type, occurredAt, memberId, entityId, forumId, threadId) -> {
+                if (occurredAt >= fromMillis && occurredAt < toMillis) {
+                    visitor.accept(sequence, type, occurredAt, memberId, entityId, forumId, threadId);
+                }
+            });
+        }
+    }
+
+    public long nextSequence() {
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        JournalSegment active = segments.get(segments.size() - 1);
+        return active.getBaseSequence() + active.getCount();
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.journal.force-interval-ms:1000}")
+    public void force() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).force();
+        }
+    }
+
+    @Scheduled(cron = "${analytics.journal.retention-cron:0 30 3 * * *}")
+    public void deleteExpiredSegments() {
+        long cutoff = toEpochMillis(LocalDateTime.now().minusDays(retentionDays));
+        synchronized (writeLock) {
+            // Never delete the active segment
+            while (segments.size() > 1 && segments.get(0).maxOccurredAt() < cutoff) {
+                JournalSegment expired = segments.remove(0);
+                try {
+                    expired.close();
+                    Files.deleteIfExists(expired.getPath());
+                    logger.info("Deleted expired journal segment {}", expired.getPath().getFileName());
+                } catch (IOException e) {
+                    logger.warn("Could not delete journal segment {}: {}", expired.getPath(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writePending();
+        synchronized (writeLock) {
+            for (JournalSegment segment : segments) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close journal segment {}: {}", segment.getPath(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private JournalSegment createSegment(long baseSequence) {
+        Path file = Paths.get(directory, String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX));
+        try {
+            return JournalSegment.open(file, baseSequence, segmentCapacity());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + file, e);
+        }
+    }
+
+    private int segmentCapacity() {
+        return segmentSizeMb * 1024 * 1024 / JournalSegment.RECORD_SIZE;
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long baseSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long idOrZero(Long id) {
+        return id != null ? id : 0L;
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * @param type ordinal of {@link ActivityEvent.Type}
+         * @param occurredAt epoch millis
+         */
+        void accept(long sequence, int type, long occurredAt, long memberId, long entityId, long forumId, long threadId);
+    }
+}
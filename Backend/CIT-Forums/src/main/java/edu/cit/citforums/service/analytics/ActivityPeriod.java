@@ -0,0 +1,102 @@
+package edu.cit.citforums.service.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grouping interval for the analytics series. Weeks are ISO weeks starting on Monday.
+ */
+public enum ActivityPeriod {
+    DAY,
+    WEEK,
+    MONTH;
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    public static ActivityPeriod fromGroupBy(String groupBy) {
+        switch (groupBy.toLowerCase()) {
+            case "week":
+                return WEEK;
+            case "month":
+                return MONTH;
+            case "day":
+            default:
+                return DAY;
+        }
+    }
+
+    public LocalDate startOf(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(DayOfWeek.MONDAY);
+            case MONTH:
+                return date.withDayOfMonth(1);
+            case DAY:
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * Start dates of every period touching the inclusive range, in order.
+     */
+    public List<LocalDate> periodStarts(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate current = startOf(startDate); !current.isAfter(endDate); current = next(current)) {
+            starts.add(current);
+        }
+        return starts;
+    }
+
+    /**
+     * Number of periods between {@code firstPeriodStart} (which must be a period start) and the period containing {@code date}.
+     */
+    public int offset(LocalDate firstPeriodStart, LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return (int) (ChronoUnit.DAYS.between(firstPeriodStart, startOf(date)) / 7);
+            case MONTH:
+                return (int) ChronoUnit.MONTHS.between(firstPeriodStart, startOf(date));
+            case DAY:
+            default:
+                return (int) ChronoUnit.DAYS.between(firstPeriodStart, date);
+        }
+    }
+
+    /**
+     * Number of periods touching the inclusive range.
+     */
+    public int periodCount(LocalDate startDate, LocalDate endDate) {
+        return offset(startOf(startDate), endDate) + 1;
+    }
+
+    public LocalDate next(LocalDate periodStart) {
+        switch (this) {
+            case WEEK:
+                return periodStart.plusWeeks(1);
+            case MONTH:
+                return periodStart.plusMonths(1);
+            case DAY:
+            default:
+                return periodStart.plusDays(1);
+        }
+    }
+
+    public String label(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return String.format("%d-W%02d",
+                        date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH:
+                return date.format(MONTH_FORMAT);
+            case DAY:
+            default:
+                return date.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        }
+    }
+}
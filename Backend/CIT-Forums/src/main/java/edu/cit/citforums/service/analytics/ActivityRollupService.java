@@ -0,0 +1,180 @@
+package edu.cit.citforums.service.analytics;
+
+import edu.cit.citforums.models.ActivityRollup;
+import edu.cit.citforums.repository.ActivityRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains hourly activity counters in {@code activity_rollups} so the admin
+ * analytics only aggregate a few thousand rows instead of scanning the raw tables.
+ * <p>
+ * Counters are incremented after each committed write. Because an increment can be
+ * lost (crash, failed upsert), closed hours are periodically recomputed from the raw
+ * tables, and the closed hours after the newest rollup are recomputed on startup.
+ */
+@Service
+public class ActivityRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityRollupService.class);
+    private static final int REBUILD_CHUNK_DAYS = 31;
+
+    private static final String[] SOURCE_TABLES = {"members", "threads", "comments"};
+
+    private final ActivityRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PeriodBucketingEngine bucketingEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${analytics.rollup.catch-up-hours:3}")
+    private int catchUpHours;
+
+    @Autowired
+    public ActivityRollupService(
+            ActivityRollupRepository rollupRepository,
+            JdbcTemplate jdbcTemplate,
+            PeriodBucketingEngine bucketingEngine,
+            PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.bucketingEngine = bucketingEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(ActivityEvent event) {
+        long registrations = event.getType() == ActivityEvent.Type.REGISTRATION ? 1 : 0;
+        long threads = event.getType() == ActivityEvent.Type.THREAD ? 1 : 0;
+        long comments = event.getType() == ActivityEvent.Type.COMMENT ? 1 : 0;
+        if (registrations + threads + comments == 0) {
+            return;
+        }
+
+        LocalDateTime bucketStart = hourOf(event.getOccurredAt());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    rollupRepository.increment(bucketStart, registrations, threads, comments));
+        } catch (RuntimeException e) {
+            // The catch-up job recomputes the hour from the raw tables
+            logger.warn("Could not update activity rollup for {}: {}", bucketStart, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        LocalDateTime from = rollupRepository.findLatestBucketStart();
+        if (from == null) {
+            from = earliestActivity();
+        }
+        if (from == null) {
+            return;
+        }
+        // Only closed hours: rebuilding the open one would drop increments committed meanwhile.
+        // The scheduled catch-up recomputes it once it closes.
+        rebuild(hourOf(from), currentHour());
+    }
+
+    @Scheduled(cron = "${analytics.rollup.catch-up-cron:0 5 * * * *}")
+    public void catchUpRecentHours() {
+        LocalDateTime to = currentHour();
+        rebuild(to.minusHours(catchUpHours), to);
+    }
+
+    /**
+     * Recomputes the hourly rows in {@code [from, to)} from the raw tables.
+     * Both bounds must be on the hour, and {@code to} no later than the current hour.
+     */
+    public void rebuild(LocalDateTime from, LocalDateTime to) {
+        long started = System.currentTimeMillis();
+        LocalDateTime chunkStart = from;
+        while (chunkStart.isBefore(to)) {
+            LocalDateTime chunkEnd = chunkStart.plusDays(REBUILD_CHUNK_DAYS);
+            if (chunkEnd.isAfter(to)) {
+                chunkEnd = to;
+            }
+            LocalDateTime start = chunkStart;
+            LocalDateTime end = chunkEnd;
+            transactionTemplate.executeWithoutResult(status -> rebuildChunk(start, end));
+            chunkStart = chunkEnd;
+        }
+        logger.info("Rebuilt activity rollups from {} to {} in {} ms", from, to, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Adds the hourly rollups in the series' date range to its registration, thread and comment series.
+     */
+    public void addCounts(UserActivitySeries series) {
+        List<ActivityRollup> buckets = rollupRepository.findBuckets(
+                series.getStartDate().atStartOfDay(), series.getEndDate().plusDays(1).atStartOfDay());
+        for (ActivityRollup bucket : buckets) {
+            LocalDate day = bucket.getBucketStart().toLocalDate();
+            series.getRegistrations().add(day, bucket.getRegistrations());
+            series.getThreads().add(day, bucket.getThreads());
+            series.getComments().add(day, bucket.getComments());
+        }
+    }
+
+    private void rebuildChunk(LocalDateTime from, LocalDateTime to) {
+        // One counter per hour and source table, indexed by hour offset from the chunk start
+        int hours = (int) ChronoUnit.HOURS.between(from, to);
+        long[][] counts = new long[SOURCE_TABLES.length][hours];
+        for (int i = 0; i < SOURCE_TABLES.length; i++) {
+            long[] tableCounts = counts[i];
+            bucketingEngine.stream(
+                    "SELECT created_at FROM " + SOURCE_TABLES[i] + " WHERE created_at >= ? AND created_at < ?",
+                    (createdAt, key) -> tableCounts[(int) ChronoUnit.HOURS.between(from, hourOf(createdAt))]++,
+                    Timestamp.valueOf(from), Timestamp.valueOf(to));
+        }
+
+        jdbcTemplate.update("DELETE FROM activity_rollups WHERE bucket_start >= ? AND bucket_start < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int hour = 0; hour < hours; hour++) {
+            if (counts[0][hour] + counts[1][hour] + counts[2][hour] > 0) {
+                rows.add(new Object[]{Timestamp.valueOf(from.plusHours(hour)), counts[0][hour], counts[1][hour], counts[2][hour]});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO activity_rollups (bucket_start, registrations, threads, comments) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    private LocalDateTime earliestActivity() {
+        LocalDateTime earliest = null;
+        for (String table : SOURCE_TABLES) {
+            Timestamp min = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM " + table, Timestamp.class);
+            if (min != null && (earliest == null || min.toLocalDateTime().isBefore(earliest))) {
+                earliest = min.toLocalDateTime();
+            }
+        }
+        return earliest;
+    }
+
+    private static LocalDateTime currentHour() {
+        return hourOf(LocalDateTime.now());
+    }
+
+    private static LocalDateTime hourOf(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.HOURS);
+    }
+}
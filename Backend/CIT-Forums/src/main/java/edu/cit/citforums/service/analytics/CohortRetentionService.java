@@ -0,0 +1,140 @@
+package edu.cit.citforums.service.analytics;
+
+import edu.cit.citforums.dto.response.CohortRetentionDTO;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Weekly cohort retention: of the members who registered in week W, how many created a
+ * thread or comment in each of the following weeks.
+ * <p>
+ * Keeps one compressed bitmap of member ids per registration week and one per activity
+ * week, so each cell of the matrix is a single AND-cardinality instead of a join over
+ * members, threads and comments. Bitmaps are built from the tables on startup and kept
+ * current from activity events; adding an id is idempotent, so events that race with the
+ * startup build are harmless.
+ */
+@Service
+public class CohortRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CohortRetentionService.class);
+
+    // Bounds on one request: weeks reported per cohort, and cohorts (registration weeks) in the range
+    public static final int MAX_WEEKS = 52;
+    public static final int MAX_COHORTS = 104;
+
+    private static final String REGISTRATIONS_SQL = "SELECT created_at, id FROM members";
+    private static final String ACTIVITY_SQL =
+            "SELECT created_at, author_id FROM threads " +
+            "UNION ALL " +
+            "SELECT created_at, author_id FROM comments";
+
+    private final PeriodBucketingEngine bucketingEngine;
+
+    // Keyed by the Monday of the week
+    private final Map<LocalDate, RoaringBitmap> registeredByWeek = new ConcurrentHashMap<>();
+    private final Map<LocalDate, RoaringBitmap> activeByWeek = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CohortRetentionService(PeriodBucketingEngine bucketingEngine) {
+        this.bucketingEngine = bucketingEngine;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.currentTimeMillis();
+        try {
+            bucketingEngine.stream(REGISTRATIONS_SQL,
+                    (createdAt, memberId) -> add(registeredByWeek, createdAt.toLocalDate(), memberId));
+            bucketingEngine.stream(ACTIVITY_SQL,
+                    (createdAt, memberId) -> add(activeByWeek, createdAt.toLocalDate(), memberId));
+        } catch (RuntimeException e) {
+            logger.warn("Could not build cohort bitmaps: {}", e.getMessage());
+            return;
+        }
+        logger.info("Built cohort bitmaps for {} registration weeks and {} activity weeks in {} ms",
+                registeredByWeek.size(), activeByWeek.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(ActivityEvent event) {
+        if (event.getMemberId() == null || event.getOccurredAt() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case REGISTRATION:
+                add(registeredByWeek, event.getOccurredAt().toLocalDate(), event.getMemberId());
+                break;
+            case THREAD:
+            case COMMENT:
+                add(activeByWeek, event.getOccurredAt().toLocalDate(), event.getMemberId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * One row per registration week touching the inclusive range, with retention for up to {@code weeks} following weeks.
+     * Callers keep {@code weeks} within 1 to {@link #MAX_WEEKS} and the range within {@link #MAX_COHORTS} weeks.
+     */
+    public List<CohortRetentionDTO> getRetention(LocalDate startDate, LocalDate endDate, int weeks) {
+        LocalDate currentWeek = ActivityPeriod.WEEK.startOf(LocalDate.now());
+        List<CohortRetentionDTO> rows = new ArrayList<>();
+        for (LocalDate cohortWeek : ActivityPeriod.WEEK.periodStarts(startDate, endDate)) {
+            RoaringBitmap cohort = registeredByWeek.get(cohortWeek);
+            long size = cohort == null ? 0 : cardinality(cohort);
+
+            int elapsed = (int) Math.min(weeks, Math.max(0, ActivityPeriod.WEEK.offset(cohortWeek, currentWeek)));
+            long[] retained = new long[elapsed];
+            double[] rates = new double[elapsed];
+            for (int i = 0; i < elapsed && size > 0; i++) {
+                RoaringBitmap active = activeByWeek.get(cohortWeek.plusWeeks(i + 1));
+                if (active != null) {
+                    retained[i] = andCardinality(cohort, active);
+                    rates[i] = (double) retained[i] / size;
+                }
+            }
+            rows.add(new CohortRetentionDTO(cohortWeek.format(DateTimeFormatter.ISO_DATE), size, retained, rates));
+        }
+        return rows;
+    }
+
+    private static void add(Map<LocalDate, RoaringBitmap> bitmaps, LocalDate date, long memberId) {
+        if (memberId <= 0 || memberId > Integer.MAX_VALUE) {
+            return;
+        }
+        RoaringBitmap bitmap = bitmaps.computeIfAbsent(ActivityPeriod.WEEK.startOf(date), week -> new RoaringBitmap());
+        synchronized (bitmap) {
+            bitmap.add((int) memberId);
+        }
+    }
+
+    private static long cardinality(RoaringBitmap bitmap) {
+        synchronized (bitmap) {
+            return bitmap.getLongCardinality();
+        }
+    }
+
+    // Writers only ever hold one bitmap lock, so taking two here cannot deadlock
+    private static long andCardinality(RoaringBitmap cohort, RoaringBitmap active) {
+        synchronized (cohort) {
+            synchronized (active) {
+                return RoaringBitmap.andCardinality(cohort, active);
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package edu.cit.citforums.service.analytics;
+
+import edu.cit.citforums.dto.response.ForumEngagementDTO;
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.repository.ForumRepository;
+import edu.cit.citforums.util.LogHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-forum engagement metrics, maintained incrementally from thread, post and comment
+ * events so reads never aggregate over the content tables.
+ * <p>
+ * Replies are posts and comments. Each reply event carries the thread's creation time and
+ * its last activity before the reply: the reply is the thread's first one when the thread
+ * had no activity after its creation, and the thread's lifetime sample (last activity minus
+ * creation) is replaced in the forum's {@link LogHistogram}. Quantiles are accurate to 1%.
+ * <p>
+ * The metrics are built once from the database on startup. Events arriving meanwhile are
+ * queued and applied afterwards. Deleted threads and replies are not subtracted.
+ */
+@Service
+public class ForumEngagementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForumEngagementService.class);
+
+    private static final String WARM_UP_SQL =
+            "SELECT t.forum_id, t.created_at, r.first_reply, r.last_reply, COALESCE(r.replies, 0) " +
+            "FROM threads t LEFT JOIN (" +
+            "  SELECT thread_id, MIN(created_at) AS first_reply, MAX(created_at) AS last_reply, COUNT(*) AS replies " +
+            "  FROM (" +
+            "    SELECT thread_id, created_at FROM posts " +
+            "    UNION ALL " +
+            "    SELECT p.thread_id, c.created_at FROM comments c JOIN posts p ON c.post_id = p.id" +
+            "  ) activity GROUP BY thread_id" +
+            ") r ON r.thread_id = t.id";
+
+    private final ForumRepository forumRepository;
+    private final PeriodBucketingEngine bucketingEngine;
+
+    private volatile Map<Long, ForumEngagement> forums = new ConcurrentHashMap<>();
+
+    // Guards event application and the swap after warm-up; non-null while warming up
+    private final Object lock = new Object();
+    private List<ActivityEvent> queuedDuringWarmUp;
+    private LocalDateTime warmUpStartedAt;
+
+    @Autowired
+    public ForumEngagementService(ForumRepository forumRepository, PeriodBucketingEngine bucketingEngine) {
+        this.forumRepository = forumRepository;
+        this.bucketingEngine = bucketingEngine;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (lock) {
+            queuedDuringWarmUp = new ArrayList<>();
+            warmUpStartedAt = LocalDateTime.now();
+        }
+
+        long started = System.currentTimeMillis();
+        Map<Long, ForumEngagement> rebuilt = new ConcurrentHashMap<>();
+        try {
+            bucketingEngine.streamRows(WARM_UP_SQL, rs -> {
+                LocalDateTime createdAt = rs.getTimestamp(2).toLocalDateTime();
+                Timestamp firstReply = rs.getTimestamp(3);
+                Timestamp lastReply = rs.getTimestamp(4);
+                rebuilt.computeIfAbsent(rs.getLong(1), id -> new ForumEngagement()).addThread(
+                        createdAt,
+                        firstReply != null ? firstReply.toLocalDateTime() : null,
+                        lastReply != null ? lastReply.toLocalDateTime() : null,
+                        rs.getLong(5));
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not build forum engagement metrics: {}", e.getMessage());
+        }
+
+        synchronized (lock) {
+            // Rows created after the scan started cannot be in it
+            for (ActivityEvent event : queuedDuringWarmUp) {
+                if (!event.getOccurredAt().isBefore(warmUpStartedAt)) {
+                    apply(rebuilt, event);
+                }
+            }
+            forums = rebuilt;
+            queuedDuringWarmUp = null;
+        }
+        logger.info("Built engagement metrics for {} forums in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(ActivityEvent event) {
+        ActivityEvent.Type type = event.getType();
+        if (type != ActivityEvent.Type.THREAD && type != ActivityEvent.Type.POST && type != ActivityEvent.Type.COMMENT) {
+            return;
+        }
+        synchronized (lock) {
+            if (queuedDuringWarmUp != null) {
+                queuedDuringWarmUp.add(event);
+            } else {
+                apply(forums, event);
+            }
+        }
+    }
+
+    public List<ForumEngagementDTO> getForumEngagement() {
+        Map<Long, ForumEngagement> current = forums;
+        Map<Long, String> titles = new HashMap<>();
+        for (Forum forum : forumRepository.findAllById(current.keySet())) {
+            titles.put(forum.getId(), forum.getTitle());
+        }
+
+        List<ForumEngagementDTO> result = new ArrayList<>();
+        current.forEach((forumId, engagement) -> result.add(engagement.toDto(forumId, titles.get(forumId))));
+        result.sort((a, b) -> Long.compare(b.getThreads(), a.getThreads()));
+        return result;
+    }
+
+    private static void apply(Map<Long, ForumEngagement> target, ActivityEvent event) {
+        if (event.getForumId() == null) {
+            return;
+        }
+        ForumEngagement engagement = target.computeIfAbsent(event.getForumId(), id -> new ForumEngagement());
+        if (event.getType() == ActivityEvent.Type.THREAD) {
+            engagement.addThread(event.getOccurredAt(), null, null, 0);
+        } else if (event.getThreadCreatedAt() != null) {
+            engagement.addReply(event.getThreadCreatedAt(), event.getPreviousThreadActivity(), event.getOccurredAt());
+        }
+    }
+
+    private static double seconds(LocalDateTime from, LocalDateTime to) {
+        return Math.max(0, Duration.between(from, to).toMillis() / 1000.0);
+    }
+
+    private static class ForumEngagement {
+        private long threads;
+        private long replies;
+        private long threadsWithReplies;
+        private final LogHistogram timeToFirstReply = new LogHistogram();
+        private final LogHistogram threadLifetime = new LogHistogram();
+
+        synchronized void addThread(LocalDateTime createdAt, LocalDateTime firstReply, LocalDateTime lastReply, long replyCount) {
+            threads++;
+            replies += replyCount;
+            if (firstReply != null) {
+                threadsWithReplies++;
+                timeToFirstReply.add(seconds(createdAt, firstReply));
+            }
+            threadLifetime.add(lastReply != null ? seconds(createdAt, lastReply) : 0);
+        }
+
+        synchronized void addReply(LocalDateTime threadCreatedAt, LocalDateTime previousActivity, LocalDateTime repliedAt) {
+            replies++;
+            LocalDateTime previous = previousActivity != null ? previousActivity : threadCreatedAt;
+            if (!previous.isAfter(threadCreatedAt)) {
+                threadsWithReplies++;
+                timeToFirstReply.add(seconds(threadCreatedAt, repliedAt));
+            }
+            if (repliedAt.isAfter(previous)) {
+                threadLifetime.remove(seconds(threadCreatedAt, previous));
+                threadLifetime.add(seconds(threadCreatedAt, repliedAt));
+            }
+        }
+
+        synchronized ForumEngagementDTO toDto(Long forumId, String title) {
+            return new ForumEngagementDTO(
+                    forumId,
+                    title,
+                    threads,
+                    replies,
+                    threads == 0 ? 0 : (double) replies / threads,
+                    threadsWithReplies,
+                    quantile(timeToFirstReply, 0.5),
+                    quantile(timeToFirstReply, 0.9),
+                    quantile(threadLifetime, 0.5),
+                    quantile(threadLifetime, 0.9));
+        }
+
+        private static Double quantile(LogHistogram histogram, double q) {
+            return histogram.getCount() == 0 ? null : histogram.quantile(q);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package edu.cit.citforums.service.analytics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped journal file holding up to {@code capacity} fixed-width records.
+ * <p>
+ * Record layout ({@value #RECORD_SIZE} bytes, big-endian):
+ * <pre>
+ *  0  long occurredAt (epoch millis)
+ *  8  long memberId   (0 when unknown)
+ * 16  long entityId
+ * 24  long forumId    (0 when not applicable)
+ * 32  long threadId   (0 when not applicable)
+ * 40  int  type       (ActivityEvent.Type ordinal)
+ * 44  int  commit marker, written last
+ * </pre>
+ * Records are filled front to back and the marker is written after the payload, so the
+ * first slot without a marker is the end of the segment, even after a crash mid-write.
+ * A single writer appends; readers see every record below the published count.
+ */
+class JournalSegment {
+
+    static final int RECORD_SIZE = 48;
+    private static final int COMMIT_MARKER = 0x4A524E4C;
+
+    private final Path path;
+    private final long baseSequence;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private volatile int count;
+    // Latest occurrence time among the records; they are appended in commit order, so it need not be the last one
+    private volatile long maxOccurredAt = Long.MIN_VALUE;
+
+    private JournalSegment(Path path, long baseSequence, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the file, creating it with room for {@code capacity} records if needed,
+     * and recovers how many records it already holds.
+     */
+    static JournalSegment open(Path path, long baseSequence, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size() > 0 ? channel.size() : (long) capacity * RECORD_SIZE;
+        int segmentCapacity = (int) (size / RECORD_SIZE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentCapacity * RECORD_SIZE);
+
+        JournalSegment segment = new JournalSegment(path, baseSequence, segmentCapacity, channel, buffer);
+        segment.count = segment.recoverCount();
+        for (int i = 0; i < segment.count; i++) {
+            segment.maxOccurredAt = Math.max(segment.maxOccurredAt, buffer.getLong(i * RECORD_SIZE));
+        }
+        return segment;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    void append(long occurredAt, long memberId, long entityId, long forumId, long threadId, int type) {
+        int offset = count * RECORD_SIZE;
+        buffer.putLong(offset, occurredAt);
+        buffer.putLong(offset + 8, memberId);
+        buffer.putLong(offset + 16, entityId);
+        buffer.putLong(offset + 24, forumId);
+        buffer.putLong(offset + 32, threadId);
+        buffer.putInt(offset + 40, type);
+        buffer.putInt(offset + 44, COMMIT_MARKER);
+        maxOccurredAt = Math.max(maxOccurredAt, occurredAt);
+        count = count + 1;
+    }
+
+    void forEach(ActivityJournal.RecordVisitor visitor) {
+        ByteBuffer view = buffer.duplicate();
+        int records = count;
+        for (int i = 0; i < records; i++) {
+            int offset = i * RECORD_SIZE;
+            visitor.accept(
+                    baseSequence + i,
+                    view.getInt(offset + 40),
+                    view.getLong(offset),
+                    view.getLong(offset + 8),
+                    view.getLong(offset + 16),
+                    view.getLong(offset + 24),
+                    view.getLong(offset + 32));
+        }
+    }
+
+    /**
+     * Latest occurrence time of any record, or {@code Long.MIN_VALUE} when empty.
+     */
+    long maxOccurredAt() {
+        return maxOccurredAt;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // Records are contiguous, so the committed prefix can be found by binary search
+    private int recoverCount() {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(mid * RECORD_SIZE + 44) == COMMIT_MARKER) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,101 @@
+package edu.cit.citforums.service.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+
+/**
+ * Streams {@code (created_at, key)} rows through a forward-only cursor and buckets them
+ * by period in Java, so the analytics need no database-specific date functions and never
+ * format a string per row.
+ * <p>
+ * Queries must select a timestamp as the first column and, optionally, a numeric key
+ * (e.g. the author id) as the second. Callers bucket each row into their own per-period
+ * arrays, so memory does not grow with the number of rows scanned.
+ */
+@Component
+public class PeriodBucketingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeriodBucketingEngine.class);
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Autowired
+    public PeriodBucketingEngine(
+            DataSource dataSource,
+            @Value("${analytics.stream.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(isMySql(dataSource) ? Integer.MIN_VALUE : fetchSize);
+    }
+
+    /**
+     * Passes every row to the handler without materializing the result set.
+     * The handler must not use the same connection while the cursor is open.
+     */
+    public void stream(String sql, RowHandler handler, Object... args) {
+        streamingJdbcTemplate.query(sql, rs -> {
+            boolean hasKey = rs.getMetaData().getColumnCount() > 1;
+            while (rs.next()) {
+                LocalDateTime createdAt = rs.getObject(1, LocalDateTime.class);
+                if (createdAt != null) {
+                    handler.accept(createdAt, hasKey ? rs.getLong(2) : 0L);
+                }
+            }
+            return null;
+        }, args);
+    }
+
+    /**
+     * Like {@link #stream}, for queries that select an integer tag before the timestamp and key,
+     * so several sources can be read in one {@code UNION ALL} pass.
+     */
+    public void streamTagged(String sql, TaggedRowHandler handler, Object... args) {
+        streamingJdbcTemplate.query(sql, rs -> {
+            while (rs.next()) {
+                LocalDateTime createdAt = rs.getObject(2, LocalDateTime.class);
+                if (createdAt != null) {
+                    handler.accept(rs.getInt(1), createdAt, rs.getLong(3));
+                }
+            }
+            return null;
+        }, args);
+    }
+
+    /**
+     * Streams arbitrary rows through the same forward-only cursor, for callers that need more than a timestamp and key.
+     */
+    public void streamRows(String sql, RowCallbackHandler handler, Object... args) {
+        streamingJdbcTemplate.query(sql, handler, args);
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        // Connector/J only streams rows when the fetch size is Integer.MIN_VALUE
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return product != null && product.toLowerCase().contains("mysql");
+        } catch (MetaDataAccessException e) {
+            logger.warn("Could not detect database product, using the configured fetch size: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(LocalDateTime createdAt, long key);
+    }
+
+    @FunctionalInterface
+    public interface TaggedRowHandler {
+        void accept(int tag, LocalDateTime createdAt, long key);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.cit.citforums.service.analytics;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * One value per period for a date range, stored in a primitive array indexed by period offset.
+ */
+@Getter
+public class PeriodSeries {
+
+    private final ActivityPeriod period;
+    private final LocalDate firstPeriodStart;
+    private final long[] values;
+
+    public PeriodSeries(ActivityPeriod period, LocalDate startDate, LocalDate endDate) {
+        this.period = period;
+        this.firstPeriodStart = period.startOf(startDate);
+        this.values = new long[period.periodCount(startDate, endDate)];
+    }
+
+    /**
+     * Offset of the period containing {@code date}, or -1 when it is outside the series.
+     */
+    public int indexOf(LocalDate date) {
+        if (date.isBefore(firstPeriodStart)) {
+            return -1;
+        }
+        int index = period.offset(firstPeriodStart, date);
+        return index < values.length ? index : -1;
+    }
+
+    public void add(LocalDate date, long amount) {
+        int index = indexOf(date);
+        if (index >= 0) {
+            values[index] += amount;
+        }
+    }
+
+    public LocalDate periodStart(int index) {
+        switch (period) {
+            case WEEK:
+                return firstPeriodStart.plusWeeks(index);
+            case MONTH:
+                return firstPeriodStart.plusMonths(index);
+            case DAY:
+            default:
+                return firstPeriodStart.plusDays(index);
+        }
+    }
+}
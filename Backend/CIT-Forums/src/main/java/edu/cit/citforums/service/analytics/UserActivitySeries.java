@@ -0,0 +1,30 @@
+package edu.cit.citforums.service.analytics;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * The four admin user-activity series over the same periods.
+ */
+@Getter
+public class UserActivitySeries {
+
+    private final ActivityPeriod period;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final PeriodSeries registrations;
+    private final PeriodSeries threads;
+    private final PeriodSeries comments;
+    private final PeriodSeries activeUsers;
+
+    public UserActivitySeries(ActivityPeriod period, LocalDate startDate, LocalDate endDate) {
+        this.period = period;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.registrations = new PeriodSeries(period, startDate, endDate);
+        this.threads = new PeriodSeries(period, startDate, endDate);
+        this.comments = new PeriodSeries(period, startDate, endDate);
+        this.activeUsers = new PeriodSeries(period, startDate, endDate);
+    }
+}
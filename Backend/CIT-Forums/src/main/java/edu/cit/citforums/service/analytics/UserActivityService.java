@@ -0,0 +1,192 @@
+package edu.cit.citforums.service.analytics;
+
+import edu.cit.citforums.util.LongHashSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds all four admin user-activity series in one execution.
+ * <p>
+ * Ranges of at most {@code analytics.active-users.exact-max-days} days are read in a single
+ * {@code UNION ALL} pass over members, threads and comments, tagged by source, which yields
+ * the three counts and the exact distinct active users together. Longer ranges use the
+ * hourly rollups and the daily active-user sketches.
+ * <p>
+ * Periods that ended more than {@code analytics.cache.settle-minutes} ago no longer change,
+ * so their values are kept in memory and only the periods still open (or not yet cached)
+ * are recomputed, one query per run of consecutive missing periods. The settle time covers
+ * the rollup and sketch catch-up jobs.
+ */
+@Service
+public class UserActivityService {
+
+    private static final int REGISTRATION = 0;
+    private static final int THREAD = 1;
+    private static final int COMMENT = 2;
+
+    // Longest range one request may cover; a daily series holds four values per day
+    public static final int MAX_DAYS = 1096;
+
+    private static final String COMBINED_SQL =
+            "SELECT 0, created_at, id FROM members WHERE created_at >= ? AND created_at < ? " +
+            "UNION ALL " +
+            "SELECT 1, created_at, author_id FROM threads WHERE created_at >= ? AND created_at < ? " +
+            "UNION ALL " +
+            "SELECT 2, created_at, author_id FROM comments WHERE created_at >= ? AND created_at < ?";
+
+    private final ActivityRollupService activityRollupService;
+    private final ActiveUserSketchService activeUserSketchService;
+    private final PeriodBucketingEngine bucketingEngine;
+
+    // Values of closed periods fully inside a requested range: registrations, threads, comments, active users
+    private final Map<ClosedPeriod, long[]> closedPeriods = new ConcurrentHashMap<>();
+
+    @Value("${analytics.active-users.exact-max-days:31}")
+    private int exactMaxDays;
+
+    @Value("${analytics.cache.settle-minutes:120}")
+    private int settleMinutes;
+
+    @Autowired
+    public UserActivityService(
+            ActivityRollupService activityRollupService,
+            ActiveUserSketchService activeUserSketchService,
+            PeriodBucketingEngine bucketingEngine) {
+        this.activityRollupService = activityRollupService;
+        this.activeUserSketchService = activeUserSketchService;
+        this.bucketingEngine = bucketingEngine;
+    }
+
+    /**
+     * Callers keep {@code endDate} on or after {@code startDate} and the range within {@link #MAX_DAYS} days.
+     */
+    public UserActivitySeries getUserActivity(LocalDate startDate, LocalDate endDate, ActivityPeriod period) {
+        UserActivitySeries series = new UserActivitySeries(period, startDate, endDate);
+        LocalDateTime now = LocalDateTime.now();
+        // The requested range alone picks the source, so one response never mixes exact counts and estimates
+        boolean exact = ChronoUnit.DAYS.between(startDate, endDate) + 1 <= exactMaxDays;
+
+        // Each run of consecutive periods that are not cached is recomputed on its own
+        int length = series.getRegistrations().getValues().length;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            long[] cached = i < length && isCacheable(series, series.getRegistrations().periodStart(i), now)
+                    ? closedPeriods.get(new ClosedPeriod(period, series.getRegistrations().periodStart(i), exact))
+                    : null;
+            if (i < length && cached == null) {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+                continue;
+            }
+            if (cached != null) {
+                setValues(series, i, cached);
+            }
+            if (runStart >= 0) {
+                computeRun(series, runStart, i - 1, exact, now);
+                runStart = -1;
+            }
+        }
+        return series;
+    }
+
+    private void computeRun(UserActivitySeries series, int first, int last, boolean exact, LocalDateTime now) {
+        ActivityPeriod period = series.getPeriod();
+        LocalDate firstStart = series.getRegistrations().periodStart(first);
+        LocalDate lastDay = period.next(series.getRegistrations().periodStart(last)).minusDays(1);
+        LocalDate from = firstStart.isBefore(series.getStartDate()) ? series.getStartDate() : firstStart;
+        LocalDate to = lastDay.isAfter(series.getEndDate()) ? series.getEndDate() : lastDay;
+
+        UserActivitySeries computed = exact ? scan(from, to, period) : estimate(from, to, period);
+        for (int j = 0; j < computed.getRegistrations().getValues().length; j++) {
+            LocalDate periodStart = computed.getRegistrations().periodStart(j);
+            long[] values = valuesAt(computed, j);
+            setValues(series, series.getRegistrations().indexOf(periodStart), values);
+            if (isCacheable(series, periodStart, now)) {
+                closedPeriods.put(new ClosedPeriod(period, periodStart, exact), values);
+            }
+        }
+    }
+
+    private UserActivitySeries estimate(LocalDate startDate, LocalDate endDate, ActivityPeriod period) {
+        UserActivitySeries series = new UserActivitySeries(period, startDate, endDate);
+        activityRollupService.addCounts(series);
+        activeUserSketchService.addEstimates(series);
+        return series;
+    }
+
+    /**
+     * Computes every series exactly from the raw tables in one pass.
+     */
+    public UserActivitySeries scan(LocalDate startDate, LocalDate endDate, ActivityPeriod period) {
+        UserActivitySeries series = new UserActivitySeries(period, startDate, endDate);
+        long[] registrations = series.getRegistrations().getValues();
+        long[] threads = series.getThreads().getValues();
+        long[] comments = series.getComments().getValues();
+        LongHashSet[] activeMembers = new LongHashSet[registrations.length];
+
+        Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+        bucketingEngine.streamTagged(COMBINED_SQL, (tag, createdAt, key) -> {
+            int index = series.getRegistrations().indexOf(createdAt.toLocalDate());
+            if (index < 0) {
+                return;
+            }
+            if (tag == REGISTRATION) {
+                registrations[index]++;
+                return;
+            }
+            if (tag == THREAD) {
+                threads[index]++;
+            } else if (tag == COMMENT) {
+                comments[index]++;
+            }
+            if (activeMembers[index] == null) {
+                activeMembers[index] = new LongHashSet();
+            }
+            activeMembers[index].add(key);
+        }, start, end, start, end, start, end);
+
+        long[] activeUsers = series.getActiveUsers().getValues();
+        for (int i = 0; i < activeMembers.length; i++) {
+            activeUsers[i] = activeMembers[i] == null ? 0 : activeMembers[i].size();
+        }
+        return series;
+    }
+
+    // Closed and fully inside the requested range, so the value does not depend on the range
+    private boolean isCacheable(UserActivitySeries series, LocalDate periodStart, LocalDateTime now) {
+        LocalDate periodEnd = series.getPeriod().next(periodStart);
+        return !periodStart.isBefore(series.getStartDate())
+                && !periodEnd.minusDays(1).isAfter(series.getEndDate())
+                && periodEnd.atStartOfDay().plusMinutes(settleMinutes).isBefore(now);
+    }
+
+    private static long[] valuesAt(UserActivitySeries series, int index) {
+        return new long[]{
+                series.getRegistrations().getValues()[index],
+                series.getThreads().getValues()[index],
+                series.getComments().getValues()[index],
+                series.getActiveUsers().getValues()[index]
+        };
+    }
+
+    private static void setValues(UserActivitySeries series, int index, long[] values) {
+        series.getRegistrations().getValues()[index] = values[0];
+        series.getThreads().getValues()[index] = values[1];
+        series.getComments().getValues()[index] = values[2];
+        series.getActiveUsers().getValues()[index] = values[3];
+    }
+
+    // Exact and estimated active users are cached apart so a range only ever reads its own source
+    private record ClosedPeriod(ActivityPeriod period, LocalDate periodStart, boolean exact) {
+    }
+}
@@ -5,11 +5,18 @@ import edu.cit.citforums.dto.MemberSummaryDto;
 import edu.cit.citforums.dto.request.MemberRegistrationRequest;
 import edu.cit.citforums.models.Member;
 import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.service.CustomUserDetailsService;
+import edu.cit.citforums.service.DuplicateMemberException;
+import edu.cit.citforums.service.MemberAvailabilityService;
 import edu.cit.citforums.service.MemberService;
+import edu.cit.citforums.service.analytics.ActivityEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,15 +29,18 @@ public class MemberServiceImpl implements MemberService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MemberAvailabilityService memberAvailabilityService;
+
     @Override
     public MemberDto registerMember(MemberRegistrationRequest registrationRequest) {
-        if (existsByName(registrationRequest.getName())) {
-            throw new RuntimeException("Username is already taken!");
-        }
-        if (existsByEmail(registrationRequest.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
-        }
-
+        // No existence checks up front: the unique indexes decide, in the insert itself
         Member member = new Member();
         member.setName(registrationRequest.getName());
         member.setEmail(registrationRequest.getEmail());
@@ -38,8 +48,10 @@ public class MemberServiceImpl implements MemberService {
         member.setFirstName(registrationRequest.getFirstName());
         member.setLastName(registrationRequest.getLastName());
         member.setAdmin(false);
+        member.setCreatedAt(LocalDateTime.now());
 
-        Member savedMember = memberRepository.save(member);
+        Member savedMember = insertMember(member);
+        eventPublisher.publishEvent(ActivityEvent.registration(savedMember));
         return convertToDto(savedMember);
     }
 
@@ -92,6 +104,9 @@ public class MemberServiceImpl implements MemberService {
         member.setLastName(updateRequest.getLastName());
 
         Member updatedMember = memberRepository.save(member);
+        memberAvailabilityService.markTaken(updatedMember.getName(), updatedMember.getEmail());
+        // Name, email and password are all part of the cached login details
+        userDetailsService.evict(memberId);
         return convertToDto(updatedMember);
     }
 
@@ -101,6 +116,7 @@ public class MemberServiceImpl implements MemberService {
             throw new RuntimeException("Member not found");
         }
         memberRepository.deleteById(memberId);
+        userDetailsService.evict(memberId);
     }
 
     @Override
@@ -123,17 +139,20 @@ public class MemberServiceImpl implements MemberService {
 
     @Override
     public boolean existsByName(String name) {
-        return memberRepository.existsByName(name);
+        return memberAvailabilityService.isNameTaken(name);
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return memberRepository.existsByEmail(email);
+        return memberAvailabilityService.isEmailTaken(email);
     }
 
     @Override
     public Member saveMember(Member member) {
-        return memberRepository.save(member);
+        Member savedMember = memberRepository.save(member);
+        memberAvailabilityService.markTaken(savedMember.getName(), savedMember.getEmail());
+        userDetailsService.evict(savedMember.getId());
+        return savedMember;
     }
 
     @Override
@@ -149,6 +168,24 @@ public class MemberServiceImpl implements MemberService {
             .orElseThrow(() -> new RuntimeException("Member not found"));
     }
 
+    private Member insertMember(Member member) {
+        Member savedMember;
+        try {
+            savedMember = memberRepository.save(member);
+        } catch (DataIntegrityViolationException e) {
+            // Only reached on a conflict, so finding out which value clashed may cost a query
+            if (memberRepository.existsByName(member.getName())) {
+                throw new DuplicateMemberException("Username is already taken!");
+            }
+            if (memberRepository.existsByEmail(member.getEmail())) {
+                throw new DuplicateMemberException("Email is already in use!");
+            }
+            throw e;
+        }
+        memberAvailabilityService.markTaken(savedMember.getName(), savedMember.getEmail());
+        return savedMember;
+    }
+
     private MemberDto convertToDto(Member member) {
         MemberDto dto = new MemberDto();
         dto.setId(member.getId());
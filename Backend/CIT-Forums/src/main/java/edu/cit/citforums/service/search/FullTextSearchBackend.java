@@ -0,0 +1,93 @@
+package edu.cit.citforums.service.search;
+
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import edu.cit.citforums.repository.ForumRepository;
+import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.repository.ThreadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * MySQL {@code MATCH ... AGAINST} search in boolean mode. Needs the FULLTEXT
+ * indexes from {@code V3__add_fulltext_search_indexes.sql}.
+ * <p>
+ * Every query term is required and prefix-matched ({@code +term*}). Queries
+ * without a term InnoDB can index (shorter than {@code innodb_ft_min_token_size})
+ * fall back to the LIKE queries.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "fulltext")
+public class FullTextSearchBackend implements SearchBackend {
+
+    // InnoDB default for innodb_ft_min_token_size
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private final ForumRepository forumRepository;
+    private final ThreadRepository threadRepository;
+    private final PostRepository postRepository;
+
+    @Autowired
+    public FullTextSearchBackend(
+            ForumRepository forumRepository,
+            ThreadRepository threadRepository,
+            PostRepository postRepository) {
+        this.forumRepository = forumRepository;
+        this.threadRepository = threadRepository;
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public Page<Forum> searchForums(String query, Pageable pageable) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery == null) {
+            return forumRepository.searchForums(query, pageable);
+        }
+        return forumRepository.fullTextSearchForums(booleanQuery, unsorted(pageable));
+    }
+
+    @Override
+    public Page<Thread> searchThreads(String query, Pageable pageable) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery == null) {
+            return threadRepository.searchThreads(query, pageable);
+        }
+        return threadRepository.fullTextSearchThreads(booleanQuery, unsorted(pageable));
+    }
+
+    @Override
+    public Page<Post> searchPosts(String query, Pageable pageable) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery == null) {
+            return postRepository.searchPosts(query, pageable);
+        }
+        return postRepository.fullTextSearchPosts(booleanQuery, unsorted(pageable));
+    }
+
+    // Native queries order by relevance themselves; entity sort properties don't map to columns
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private String toBooleanQuery(String query) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String token : tokens) {
+            if (token.length() < MIN_TOKEN_LENGTH) {
+                continue;
+            }
+            if (booleanQuery.length() > 0) {
+                booleanQuery.append(' ');
+            }
+            booleanQuery.append('+').append(token).append('*');
+        }
+        return booleanQuery.length() > 0 ? booleanQuery.toString() : null;
+    }
+}
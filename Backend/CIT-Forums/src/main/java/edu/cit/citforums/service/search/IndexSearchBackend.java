@@ -0,0 +1,169 @@
+package edu.cit.citforums.service.search;
+
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import edu.cit.citforums.repository.ForumRepository;
+import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.repository.ThreadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Embedded inverted-index search. The index is built from the database when the
+ * application starts and kept current through the {@link SearchBackend} write hooks,
+ * so queries only touch the database to load the entities of the requested page.
+ * <p>
+ * Terms are prefix-matched, so unlike LIKE a query does not match in the middle of a word.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "index")
+public class IndexSearchBackend implements SearchBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexSearchBackend.class);
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ForumRepository forumRepository;
+    private final ThreadRepository threadRepository;
+    private final PostRepository postRepository;
+
+    private final InvertedIndex forumIndex = new InvertedIndex();
+    private final InvertedIndex threadIndex = new InvertedIndex();
+    private final InvertedIndex postIndex = new InvertedIndex();
+
+    @Autowired
+    public IndexSearchBackend(
+            ForumRepository forumRepository,
+            ThreadRepository threadRepository,
+            PostRepository postRepository) {
+        this.forumRepository = forumRepository;
+        this.threadRepository = threadRepository;
+        this.postRepository = postRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+
+        forumIndex.clear();
+        threadIndex.clear();
+        postIndex.clear();
+        indexAll(forumRepository::findByIdGreaterThanOrderByIdAsc, Forum::getId, this::indexForum);
+        indexAll(threadRepository::findByIdGreaterThanOrderByIdAsc, Thread::getId, this::indexThread);
+        indexAll(postRepository::findByIdGreaterThanOrderByIdAsc, Post::getId, this::indexPost);
+
+        logger.info("Search index built with {} forums, {} threads and {} posts in {} ms",
+                forumIndex.size(), threadIndex.size(), postIndex.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public Page<Forum> searchForums(String query, Pageable pageable) {
+        return page(forumIndex, query, pageable, forumRepository::findAllById, Forum::getId);
+    }
+
+    @Override
+    public Page<Thread> searchThreads(String query, Pageable pageable) {
+        return page(threadIndex, query, pageable, threadRepository::findAllById, Thread::getId);
+    }
+
+    @Override
+    public Page<Post> searchPosts(String query, Pageable pageable) {
+        return page(postIndex, query, pageable, postRepository::findAllById, Post::getId);
+    }
+
+    @Override
+    public void indexForum(Forum forum) {
+        forumIndex.put(forum.getId(), joinText(forum.getTitle(), forum.getDescription()));
+    }
+
+    @Override
+    public void indexThread(Thread thread) {
+        threadIndex.put(thread.getId(), joinText(thread.getTitle(), thread.getContent()));
+    }
+
+    @Override
+    public void indexPost(Post post) {
+        postIndex.put(post.getId(), post.getContent());
+    }
+
+    @Override
+    public void removeForum(Long forumId) {
+        forumIndex.remove(forumId);
+    }
+
+    @Override
+    public void removeThread(Long threadId) {
+        threadIndex.remove(threadId);
+    }
+
+    @Override
+    public void removePost(Long postId) {
+        postIndex.remove(postId);
+    }
+
+    private String joinText(String first, String second) {
+        return second == null ? first : first + " " + second;
+    }
+
+    private <T> void indexAll(BiFunction<Long, Pageable, List<T>> loader, Function<T, Long> idOf, Consumer<T> indexer) {
+        // Pages by id rather than offset: rows inserted or deleted meanwhile cannot shift
+        // later batches, and deep pages do not rescan the skipped rows
+        Pageable batchSize = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        List<T> batch;
+        long lastId = 0;
+        do {
+            batch = loader.apply(lastId, batchSize);
+            batch.forEach(indexer);
+            if (!batch.isEmpty()) {
+                lastId = idOf.apply(batch.get(batch.size() - 1));
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+    }
+
+    private <T> Page<T> page(
+            InvertedIndex index,
+            String query,
+            Pageable pageable,
+            Function<List<Long>, List<T>> loader,
+            Function<T, Long> idOf) {
+        List<Long> ids = index.search(query);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+
+        Map<Long, T> loaded = new HashMap<>();
+        for (T entity : loader.apply(pageIds)) {
+            loaded.put(idOf.apply(entity), entity);
+        }
+
+        // Keep index order; drop ids whose rows went away through cascading deletes
+        List<T> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            T entity = loaded.get(id);
+            if (entity != null) {
+                content.add(entity);
+            } else {
+                index.remove(id);
+            }
+        }
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+}
@@ -0,0 +1,118 @@
+package edu.cit.citforums.service.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory term to document-id index. Posting sets are kept newest id first so
+ * results come back in creation order without touching the database.
+ */
+final class InvertedIndex {
+
+    private final NavigableMap<String, NavigableSet<Long>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(Long id, String text) {
+        Set<String> terms = new HashSet<>(SearchTokenizer.tokenize(text));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documentTerms.put(id, terms);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new TreeSet<>(Comparator.reverseOrder())).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of documents containing a term starting with every query
+     * token, newest first.
+     */
+    List<Long> search(String query) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            NavigableSet<Long> result = null;
+            for (String token : new HashSet<>(tokens)) {
+                NavigableSet<Long> matches = new TreeSet<>(Comparator.reverseOrder());
+                for (Set<Long> ids : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    matches.addAll(ids);
+                }
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.retainAll(matches);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            NavigableSet<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package edu.cit.citforums.service.search;
+
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import edu.cit.citforums.repository.ForumRepository;
+import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.repository.ThreadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Substring search using {@code LIKE '%query%'}. Works on any database but
+ * scans the whole table for every query.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "like", matchIfMissing = true)
+public class LikeSearchBackend implements SearchBackend {
+
+    private final ForumRepository forumRepository;
+    private final ThreadRepository threadRepository;
+    private final PostRepository postRepository;
+
+    @Autowired
+    public LikeSearchBackend(
+            ForumRepository forumRepository,
+            ThreadRepository threadRepository,
+            PostRepository postRepository) {
+        this.forumRepository = forumRepository;
+        this.threadRepository = threadRepository;
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public Page<Forum> searchForums(String query, Pageable pageable) {
+        return forumRepository.searchForums(query, pageable);
+    }
+
+    @Override
+    public Page<Thread> searchThreads(String query, Pageable pageable) {
+        return threadRepository.searchThreads(query, pageable);
+    }
+
+    @Override
+    public Page<Post> searchPosts(String query, Pageable pageable) {
+        return postRepository.searchPosts(query, pageable);
+    }
+}
@@ -0,0 +1,40 @@
+package edu.cit.citforums.service.search;
+
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Strategy behind the forum, thread and post search endpoints.
+ * The active implementation is selected with the {@code search.backend} property
+ * ({@code like}, {@code fulltext} or {@code index}).
+ */
+public interface SearchBackend {
+
+    Page<Forum> searchForums(String query, Pageable pageable);
+
+    Page<Thread> searchThreads(String query, Pageable pageable);
+
+    Page<Post> searchPosts(String query, Pageable pageable);
+
+    // Write hooks, only needed by backends that keep their own index; called after commit by SearchIndexListener
+    default void indexForum(Forum forum) {
+    }
+
+    default void indexThread(Thread thread) {
+    }
+
+    default void indexPost(Post post) {
+    }
+
+    default void removeForum(Long forumId) {
+    }
+
+    default void removeThread(Long threadId) {
+    }
+
+    default void removePost(Long postId) {
+    }
+}
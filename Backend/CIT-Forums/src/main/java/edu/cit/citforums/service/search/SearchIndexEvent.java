@@ -0,0 +1,56 @@
+package edu.cit.citforums.service.search;
+
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+
+import java.util.function.Consumer;
+
+/**
+ * A change the {@link SearchBackend} write hooks must see. Published by the services in
+ * place of calling the hooks directly, so {@link SearchIndexListener} applies it only once
+ * the transaction that made the change has committed.
+ */
+public class SearchIndexEvent {
+
+    private final String description;
+    private final Consumer<SearchBackend> change;
+
+    private SearchIndexEvent(String description, Consumer<SearchBackend> change) {
+        this.description = description;
+        this.change = change;
+    }
+
+    public static SearchIndexEvent indexForum(Forum forum) {
+        return new SearchIndexEvent("index forum " + forum.getId(), backend -> backend.indexForum(forum));
+    }
+
+    public static SearchIndexEvent indexThread(Thread thread) {
+        return new SearchIndexEvent("index thread " + thread.getId(), backend -> backend.indexThread(thread));
+    }
+
+    public static SearchIndexEvent indexPost(Post post) {
+        return new SearchIndexEvent("index post " + post.getId(), backend -> backend.indexPost(post));
+    }
+
+    public static SearchIndexEvent removeForum(Long forumId) {
+        return new SearchIndexEvent("remove forum " + forumId, backend -> backend.removeForum(forumId));
+    }
+
+    public static SearchIndexEvent removeThread(Long threadId) {
+        return new SearchIndexEvent("remove thread " + threadId, backend -> backend.removeThread(threadId));
+    }
+
+    public static SearchIndexEvent removePost(Long postId) {
+        return new SearchIndexEvent("remove post " + postId, backend -> backend.removePost(postId));
+    }
+
+    void applyTo(SearchBackend backend) {
+        change.accept(backend);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,34 @@
+package edu.cit.citforums.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies {@link SearchIndexEvent}s to the active backend after commit, so a rolled-back
+ * write never reaches the index and the index is not updated while the row is still locked.
+ */
+@Component
+public class SearchIndexListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexListener.class);
+
+    private final SearchBackend searchBackend;
+
+    @Autowired
+    public SearchIndexListener(SearchBackend searchBackend) {
+        this.searchBackend = searchBackend;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(SearchIndexEvent event) {
+        try {
+            event.applyTo(searchBackend);
+        } catch (RuntimeException e) {
+            // The next rebuild on startup picks the change up
+            logger.warn("Could not update search index ({}): {}", event, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package edu.cit.citforums.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative longs with log-linear buckets, in the style of
+ * HdrHistogram: each power of two is split into 16 linear sub-buckets, so every recorded
+ * value is reported within about 3% of its true value. Recording is a single atomic
+ * increment on a fixed array of about 500 counters, and never allocates.
+ * <p>
+ * Values above {@link #MAX_VALUE} are clamped. Reads are not atomic with respect to
+ * concurrent writes, so a snapshot taken under load may be a few samples behind.
+ */
+public class ConcurrentHistogram {
+
+    public static final long MAX_VALUE = (1L << 32) - 1;
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long value) {
+        counts.incrementAndGet(indexOf(Math.min(Math.max(value, 0), MAX_VALUE)));
+    }
+
+    /**
+     * Zeroes every bucket. Samples recorded while the reset is in progress may be lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.add(this);
+        return snapshot;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long lowestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+    }
+
+    private static long highestValueAt(int index) {
+        return index + 1 < BUCKET_COUNT ? lowestValueAt(index + 1) - 1 : MAX_VALUE;
+    }
+
+    /**
+     * Point-in-time copy of one or more histograms, used to merge rolling windows and to
+     * read quantiles without touching the live counters. Not thread-safe.
+     */
+    public static class Snapshot {
+
+        private final long[] counts = new long[BUCKET_COUNT];
+        private long totalCount;
+
+        public void add(ConcurrentHistogram histogram) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = histogram.counts.get(i);
+                counts[i] += count;
+                totalCount += count;
+            }
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * Value at quantile {@code q} (0..1), or {@code NaN} when empty. Reported as the
+         * midpoint of the bucket holding the sample.
+         */
+        public double quantile(double q) {
+            if (totalCount == 0) {
+                return Double.NaN;
+            }
+            long rank = (long) Math.ceil(q * totalCount);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(rank, 1)) {
+                    return (lowestValueAt(i) + highestValueAt(i)) / 2.0;
+                }
+            }
+            return MAX_VALUE;
+        }
+
+        /**
+         * Upper bound of the highest non-empty bucket, or {@code NaN} when empty.
+         */
+        public double max() {
+            for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestValueAt(i);
+                }
+            }
+            return Double.NaN;
+        }
+    }
+}
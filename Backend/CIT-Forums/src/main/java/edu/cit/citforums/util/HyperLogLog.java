@@ -0,0 +1,128 @@
+package edu.cit.citforums.util;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-count sketch over {@code long} values.
+ * <p>
+ * With {@code 2^p} one-byte registers the relative standard error is
+ * {@code 1.04 / sqrt(2^p)}: about 1.6% for the default precision of 12 (4 KiB),
+ * so roughly 95% of estimates fall within 3.3% of the true count. Small counts use
+ * linear counting and are close to exact. Sketches of the same precision can be
+ * merged, which gives the sketch of the union of both inputs.
+ * <p>
+ * Not thread-safe.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static double standardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    public void add(long value) {
+        long hash = mix64(value);
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = remaining == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(remaining) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches with precision " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        if (zeros > 0) {
+            // Linear counting is far more accurate while many registers are still empty. The switch is
+            // decided on its own estimate: the raw one still overestimates by about 2% just above 2.5m
+            double linear = m * Math.log((double) m / zeros);
+            if (linear <= 3 * m) {
+                return Math.round(linear);
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        return Math.round(alpha * m * m / sum);
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    /**
+     * Serialized form: one byte of precision followed by the registers.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        int precision = bytes[0];
+        if (precision < 4 || precision > 16 || bytes.length != (1 << precision) + 1) {
+            throw new IllegalArgumentException("Not a serialized HyperLogLog sketch");
+        }
+        return new HyperLogLog(precision, Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    // MurmurHash3 finalizer; spreads sequential ids over all 64 bits
+    private static long mix64(long z) {
+        z ^= z >>> 33;
+        z *= 0xff51afd7ed558ccdL;
+        z ^= z >>> 33;
+        z *= 0xc4ceb9fe1a85ec53L;
+        z ^= z >>> 33;
+        return z;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.cit.citforums.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link BloomFilter} that can be replaced by a freshly built one without losing values
+ * added while the new one was being built.
+ * <p>
+ * Call {@link #startRebuild}, build the replacement from the source of truth, then hand it
+ * to {@link #finishRebuild} (or call {@link #cancelRebuild} if building failed). Values added
+ * in between go to the current filter and are also replayed into the replacement before it
+ * is swapped in. Until the first rebuild finishes there is no filter and every value might
+ * be contained.
+ */
+public class RebuildableBloomFilter {
+
+    private volatile BloomFilter filter;
+
+    // Guards adding to the filter and the swap after a rebuild; non-null while rebuilding
+    private final Object lock = new Object();
+    private List<String> addedDuringRebuild;
+
+    public void add(String value) {
+        synchronized (lock) {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.add(value);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(value);
+            }
+        }
+    }
+
+    /**
+     * {@code false} only when the value was certainly never added; always {@code true}
+     * before the first rebuild.
+     */
+    public boolean mightContain(String value) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(value);
+    }
+
+    public void startRebuild() {
+        synchronized (lock) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+    }
+
+    public void finishRebuild(BloomFilter rebuilt) {
+        synchronized (lock) {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.forEach(rebuilt::add);
+            }
+            filter = rebuilt;
+            addedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Stops queueing after a failed rebuild; the current filter stays in use.
+     */
+    public void cancelRebuild() {
+        synchronized (lock) {
+            addedDuringRebuild = null;
+        }
+    }
+}
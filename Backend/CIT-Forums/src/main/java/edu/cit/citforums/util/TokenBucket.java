@@ -0,0 +1,48 @@
+package edu.cit.citforums.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens, refilled at a steady rate.
+ * <p>
+ * Stored as a single "theoretical arrival time" (the GCRA formulation): the instant at
+ * which the bucket would be full again. Taking a token is one compare-and-set, so the
+ * bucket is lock-free, and a bucket whose arrival time has passed is full and can be
+ * discarded without losing anything. Times are {@link System#nanoTime()} values.
+ */
+public class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = (capacity - 1) * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available and returns 0, or returns the nanoseconds until one will be.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long wait = current - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            long next = Math.max(current, nowNanos) + refillIntervalNanos;
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
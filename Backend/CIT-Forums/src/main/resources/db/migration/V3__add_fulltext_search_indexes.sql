@@ -0,0 +1,3 @@
+ALTER TABLE forums ADD FULLTEXT INDEX ft_forums_title_description (title, description);
+ALTER TABLE threads ADD FULLTEXT INDEX ft_threads_title_content (title, content);
+ALTER TABLE posts ADD FULLTEXT INDEX ft_posts_content (content);
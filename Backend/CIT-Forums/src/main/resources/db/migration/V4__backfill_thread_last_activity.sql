@@ -0,0 +1,11 @@
+UPDATE threads t
+JOIN (
+    SELECT thread_id, MAX(created_at) AS last_reply
+    FROM (
+        SELECT thread_id, created_at FROM posts
+        UNION ALL
+        SELECT p.thread_id, c.created_at FROM comments c JOIN posts p ON c.post_id = p.id
+    ) activity
+    GROUP BY thread_id
+) r ON r.thread_id = t.id
+SET t.last_activity = GREATEST(COALESCE(t.last_activity, t.created_at), r.last_reply);
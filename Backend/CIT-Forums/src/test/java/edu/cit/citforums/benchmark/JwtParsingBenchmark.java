@@ -0,0 +1,92 @@
+package edu.cit.citforums.benchmark;
+
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.security.JwtConfig;
+import edu.cit.citforums.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares the cost of authenticating one request's token: a fresh parser for validation and
+ * another for the subject (the old filter), one parse with a shared parser, and
+ * {@link JwtTokenProvider#parseToken}, which serves repeated tokens from its verified-claims cache.
+ * <p>
+ * Needs no database:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=edu.cit.citforums.benchmark.JwtParsingBenchmark
+ * </pre>
+ * The number of distinct tokens cycled through is set with {@code -Dbench.tokens}.
+ */
+public class JwtParsingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int OPERATIONS_PER_ROUND = 50_000;
+
+    // Written with every result so the JIT cannot drop the work
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        int tokenCount = Integer.getInteger("bench.tokens", 100);
+
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secret", "BenchmarkSecretKeyThatIsLongEnoughForHmacSha256");
+        ReflectionTestUtils.setField(jwtConfig, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtConfig, "claimsCacheSize", 10_000);
+        // HS256 needs no key ring; JwtSigningBenchmark compares it with ES256
+        ReflectionTestUtils.setField(jwtConfig, "signingAlgorithm", "HS256");
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(jwtConfig, null);
+        SecretKey secretKey = jwtConfig.secretKey();
+
+        String[] tokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            Member member = new Member();
+            member.setId((long) i + 1);
+            member.setName("member" + i);
+            member.setEmail("member" + i + "@cit.edu");
+            tokens[i] = tokenProvider.generateTokenFromMember(member);
+        }
+
+        JwtParser sharedParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+
+        System.out.printf("%-28s %12s %12s%n", "strategy", "p50 ns/op", "p95 ns/op");
+        report("new parser, parsed twice", tokens, token -> {
+            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
+            Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+            return claims.getSubject().length();
+        });
+        report("shared parser, parsed once", tokens,
+                token -> sharedParser.parseClaimsJws(token).getBody().getSubject().length());
+        report("verified-claims cache", tokens,
+                token -> tokenProvider.parseToken(token).getSubject().length());
+    }
+
+    private static void report(String strategy, String[] tokens, ToIntFunction<String> authenticate) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(tokens, authenticate);
+        }
+        double[] nanosPerOperation = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            runRound(tokens, authenticate);
+            nanosPerOperation[round] = (double) (System.nanoTime() - started) / OPERATIONS_PER_ROUND;
+        }
+        Arrays.sort(nanosPerOperation);
+        System.out.printf("%-28s %12.0f %12.0f%n", strategy,
+                nanosPerOperation[ROUNDS / 2],
+                nanosPerOperation[(int) (ROUNDS * 0.95)]);
+    }
+
+    private static void runRound(String[] tokens, ToIntFunction<String> authenticate) {
+        for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+            sink = authenticate.applyAsInt(tokens[i % tokens.length]);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package edu.cit.citforums.benchmark;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares signing and verification cost of access tokens signed with the shared HS256
+ * secret and with an ES256 key pair, using a shared parser for both as the provider does.
+ * Bypasses the verified-claims cache, so this is the cost of a token seen for the first time.
+ * <p>
+ * Needs no database:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=edu.cit.citforums.benchmark.JwtSigningBenchmark
+ * </pre>
+ */
+public class JwtSigningBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int OPERATIONS_PER_ROUND = 2_000;
+    private static final int TOKENS = 100;
+
+    // Written with every result so the JIT cannot drop the work
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        Key secretKey = Keys.hmacShaKeyFor("BenchmarkSecretKeyThatIsLongEnoughForHmacSha256".getBytes());
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+
+        String[] hs256Tokens = tokens(secretKey, SignatureAlgorithm.HS256);
+        String[] es256Tokens = tokens(keyPair.getPrivate(), SignatureAlgorithm.ES256);
+        JwtParser hs256Parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        JwtParser es256Parser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+
+        System.out.printf("%-16s %12s %12s %12s%n", "operation", "p50 ns/op", "p95 ns/op", "ops/s");
+        report("HS256 sign", hs256Tokens, token -> sign(secretKey, SignatureAlgorithm.HS256).length());
+        report("ES256 sign", es256Tokens, token -> sign(keyPair.getPrivate(), SignatureAlgorithm.ES256).length());
+        report("HS256 verify", hs256Tokens, token -> hs256Parser.parseClaimsJws(token).getBody().getSubject().length());
+        report("ES256 verify", es256Tokens, token -> es256Parser.parseClaimsJws(token).getBody().getSubject().length());
+    }
+
+    private static String[] tokens(Key key, SignatureAlgorithm algorithm) {
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = sign(key, algorithm);
+        }
+        return tokens;
+    }
+
+    // Same claims as JwtTokenProvider issues
+    private static String sign(Key key, SignatureAlgorithm algorithm) {
+        Date now = new Date();
+        return Jwts.builder()
+                .claim("mid", 42L)
+                .claim("name", "member42")
+                .claim("roles", List.of("ROLE_USER"))
+                .setSubject("member42@cit.edu")
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 900_000))
+                .setHeaderParam("kid", "benchmark")
+                .signWith(key, algorithm)
+                .compact();
+    }
+
+    private static void report(String operation, String[] tokens, ToIntFunction<String> run) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(tokens, run);
+        }
+        double[] nanosPerOperation = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            runRound(tokens, run);
+            nanosPerOperation[round] = (double) (System.nanoTime() - started) / OPERATIONS_PER_ROUND;
+        }
+        Arrays.sort(nanosPerOperation);
+        double median = nanosPerOperation[ROUNDS / 2];
+        System.out.printf("%-16s %12.0f %12.0f %12.0f%n", operation,
+                median, nanosPerOperation[(int) (ROUNDS * 0.95)], 1_000_000_000.0 / median);
+    }
+
+    private static void runRound(String[] tokens, ToIntFunction<String> run) {
+        for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+            sink = run.applyAsInt(tokens[i % tokens.length]);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package edu.cit.citforums.benchmark;
+
+import edu.cit.citforums.ForumApplication;
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.ForumCategory;
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import edu.cit.citforums.repository.ForumRepository;
+import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.repository.ThreadRepository;
+import edu.cit.citforums.service.search.FullTextSearchBackend;
+import edu.cit.citforums.service.search.IndexSearchBackend;
+import edu.cit.citforums.service.search.LikeSearchBackend;
+import edu.cit.citforums.service.search.SearchBackend;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs every {@link SearchBackend} over the same generated corpus and prints
+ * latency percentiles and recall. Recall is measured against LIKE semantics
+ * (case-insensitive substring match), computed in memory from the corpus.
+ * <p>
+ * It inserts rows, so point it at a scratch MySQL schema:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=edu.cit.citforums.benchmark.SearchBackendBenchmark \
+ *     -Dexec.args="--spring.datasource.url=jdbc:mysql://localhost:3306/citforums_bench?createDatabaseIfNotExist=true"
+ * </pre>
+ * Corpus size is set with {@code -Dbench.threads} and {@code -Dbench.posts}.
+ */
+public class SearchBackendBenchmark {
+
+    private static final int VOCABULARY_SIZE = 2000;
+    private static final int QUERY_COUNT = 200;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final Pageable ALL_RESULTS = PageRequest.of(0, 100_000, Sort.by("createdAt").descending());
+
+    public static void main(String[] args) {
+        int threadCount = Integer.getInteger("bench.threads", 2_000);
+        int postCount = Integer.getInteger("bench.posts", 10_000);
+
+        String[] appArgs = Arrays.copyOf(args, args.length + 3);
+        appArgs[args.length] = "--server.port=0";
+        appArgs[args.length + 1] = "--spring.jpa.show-sql=false";
+        appArgs[args.length + 2] = "--logging.level.root=WARN";
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(ForumApplication.class, appArgs)) {
+            ForumRepository forumRepository = context.getBean(ForumRepository.class);
+            ThreadRepository threadRepository = context.getBean(ThreadRepository.class);
+            PostRepository postRepository = context.getBean(PostRepository.class);
+            MemberRepository memberRepository = context.getBean(MemberRepository.class);
+
+            createFullTextIndexes(context.getBean(JdbcTemplate.class));
+
+            Random random = new Random(42);
+            String[] vocabulary = generateVocabulary(random);
+
+            System.out.printf("Generating corpus: %d threads, %d posts%n", threadCount, postCount);
+            Map<Long, String> threadTexts = new LinkedHashMap<>();
+            Map<Long, String> postTexts = new LinkedHashMap<>();
+            generateCorpus(random, vocabulary, threadCount, postCount,
+                    memberRepository, forumRepository, threadRepository, postRepository,
+                    threadTexts, postTexts);
+
+            List<String> queries = generateQueries(random, vocabulary, postTexts);
+
+            IndexSearchBackend indexBackend = new IndexSearchBackend(forumRepository, threadRepository, postRepository);
+            indexBackend.rebuild();
+
+            Map<String, SearchBackend> backends = new LinkedHashMap<>();
+            backends.put("like", new LikeSearchBackend(forumRepository, threadRepository, postRepository));
+            backends.put("fulltext", new FullTextSearchBackend(forumRepository, threadRepository, postRepository));
+            backends.put("index", indexBackend);
+
+            System.out.printf("%-9s %-8s %10s %10s %10s %8s%n", "backend", "entity", "p50 ms", "p95 ms", "max ms", "recall");
+            for (Map.Entry<String, SearchBackend> backend : backends.entrySet()) {
+                SearchBackend searchBackend = backend.getValue();
+                report(backend.getKey(), "threads", queries, threadTexts,
+                        (query, pageable) -> ids(searchBackend.searchThreads(query, pageable).getContent(), Thread::getId));
+                report(backend.getKey(), "posts", queries, postTexts,
+                        (query, pageable) -> ids(searchBackend.searchPosts(query, pageable).getContent(), Post::getId));
+            }
+        }
+    }
+
+    private static void report(
+            String backend,
+            String entity,
+            List<String> queries,
+            Map<Long, String> corpus,
+            BiFunction<String, Pageable, Set<Long>> search) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String query : queries) {
+                search.apply(query, ALL_RESULTS);
+            }
+        }
+
+        long[] latencies = new long[queries.size()];
+        double recallSum = 0;
+        int recallQueries = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            String query = queries.get(i);
+            long started = System.nanoTime();
+            Set<Long> found = search.apply(query, ALL_RESULTS);
+            latencies[i] = System.nanoTime() - started;
+
+            Set<Long> expected = expectedMatches(corpus, query);
+            if (!expected.isEmpty()) {
+                int hits = 0;
+                for (Long id : expected) {
+                    if (found.contains(id)) {
+                        hits++;
+                    }
+                }
+                recallSum += (double) hits / expected.size();
+                recallQueries++;
+            }
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%-9s %-8s %10.2f %10.2f %10.2f %8.3f%n",
+                backend, entity,
+                millis(latencies[latencies.length / 2]),
+                millis(latencies[(int) (latencies.length * 0.95)]),
+                millis(latencies[latencies.length - 1]),
+                recallQueries == 0 ? 1.0 : recallSum / recallQueries);
+    }
+
+    private static Set<Long> expectedMatches(Map<Long, String> corpus, String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        Set<Long> matches = new HashSet<>();
+        for (Map.Entry<Long, String> document : corpus.entrySet()) {
+            if (document.getValue().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(document.getKey());
+            }
+        }
+        return matches;
+    }
+
+    private static <T> Set<Long> ids(List<T> entities, Function<T, Long> idOf) {
+        Set<Long> ids = new HashSet<>();
+        for (T entity : entities) {
+            ids.add(idOf.apply(entity));
+        }
+        return ids;
+    }
+
+    private static void createFullTextIndexes(JdbcTemplate jdbcTemplate) {
+        String[] statements = {
+                "ALTER TABLE forums ADD FULLTEXT INDEX ft_forums_title_description (title, description)",
+                "ALTER TABLE threads ADD FULLTEXT INDEX ft_threads_title_content (title, content)",
+                "ALTER TABLE posts ADD FULLTEXT INDEX ft_posts_content (content)"
+        };
+        for (String statement : statements) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                // Index already exists from the migration or an earlier run
+            }
+        }
+    }
+
+    private static String[] generateVocabulary(Random random) {
+        Set<String> words = new HashSet<>();
+        while (words.size() < VOCABULARY_SIZE) {
+            int length = 4 + random.nextInt(6);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    // Zipf-like pick so a few words are common and most are rare, as in real text
+    private static String pickWord(Random random, String[] vocabulary) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return vocabulary[(int) (skewed * vocabulary.length)];
+    }
+
+    private static String sentence(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(pickWord(random, vocabulary));
+        }
+        return text.toString();
+    }
+
+    private static void generateCorpus(
+            Random random,
+            String[] vocabulary,
+            int threadCount,
+            int postCount,
+            MemberRepository memberRepository,
+            ForumRepository forumRepository,
+            ThreadRepository threadRepository,
+            PostRepository postRepository,
+            Map<Long, String> threadTexts,
+            Map<Long, String> postTexts) {
+        String suffix = Long.toString(System.currentTimeMillis(), 36);
+
+        Member member = new Member();
+        member.setName("bench-" + suffix);
+        member.setEmail("bench-" + suffix + "@example.com");
+        member.setPassword("benchmark");
+        member.setCreatedAt(LocalDateTime.now());
+        member = memberRepository.save(member);
+
+        List<Forum> forums = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Forum forum = new Forum();
+            forum.setTitle("Benchmark " + suffix + " " + i);
+            forum.setDescription(sentence(random, vocabulary, 12));
+            forum.setCategory(ForumCategory.values()[i % ForumCategory.values().length]);
+            forum.setCreatedBy(member);
+            forums.add(forumRepository.save(forum));
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread();
+            thread.setTitle(sentence(random, vocabulary, 6));
+            thread.setContent(sentence(random, vocabulary, 60));
+            thread.setForum(forums.get(i % forums.size()));
+            thread.setAuthor(member);
+            thread.setCreatedBy(member);
+            threads.add(thread);
+        }
+        for (Thread thread : threadRepository.saveAll(threads)) {
+            threadTexts.put(thread.getId(), thread.getTitle() + " " + thread.getContent());
+        }
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < postCount; i++) {
+            Post post = new Post();
+            post.setContent(sentence(random, vocabulary, 80));
+            post.setThread(threads.get(random.nextInt(threads.size())));
+            post.setCreatedBy(member);
+            post.setActive(true);
+            posts.add(post);
+        }
+        for (Post post : postRepository.saveAll(posts)) {
+            postTexts.put(post.getId(), post.getContent());
+        }
+    }
+
+    // Single words across the frequency range plus adjacent word pairs taken from real posts
+    private static List<String> generateQueries(Random random, String[] vocabulary, Map<Long, String> postTexts) {
+        List<String> queries = new ArrayList<>();
+        List<String> texts = new ArrayList<>(postTexts.values());
+        while (queries.size() < QUERY_COUNT) {
+            if (queries.size() % 2 == 0) {
+                queries.add(pickWord(random, vocabulary));
+            } else {
+                String[] words = texts.get(random.nextInt(texts.size())).split(" ");
+                int start = random.nextInt(words.length - 1);
+                queries.add(words[start] + " " + words[start + 1]);
+            }
+        }
+        return queries;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,257 @@
+package edu.cit.citforums.benchmark;
+
+import edu.cit.citforums.ForumApplication;
+import edu.cit.citforums.models.Forum;
+import edu.cit.citforums.models.ForumCategory;
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.models.Post;
+import edu.cit.citforums.models.Thread;
+import edu.cit.citforums.repository.ForumRepository;
+import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.repository.PostRepository;
+import edu.cit.citforums.repository.ThreadRepository;
+import edu.cit.citforums.service.analytics.ActiveUserSketchService;
+import edu.cit.citforums.service.analytics.ActivityPeriod;
+import edu.cit.citforums.service.analytics.ActivityRollupService;
+import edu.cit.citforums.service.analytics.PeriodBucketingEngine;
+import edu.cit.citforums.service.analytics.PeriodSeries;
+import edu.cit.citforums.service.analytics.UserActivitySeries;
+import edu.cit.citforums.service.analytics.UserActivityService;
+import edu.cit.citforums.util.LongHashSet;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares ways of producing the admin user-activity series over a generated year of data:
+ * one scan per series (the old shape), the single tagged pass, and the service itself, which
+ * serves closed periods from its cache and reads the open one from the rollups and sketches.
+ * <p>
+ * It inserts rows, so point it at a scratch MySQL schema:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=edu.cit.citforums.benchmark.UserActivityBenchmark \
+ *     -Dexec.args="--spring.datasource.url=jdbc:mysql://localhost:3306/citforums_bench?createDatabaseIfNotExist=true"
+ * </pre>
+ * Data size is set with {@code -Dbench.members}, {@code -Dbench.threads} and {@code -Dbench.comments}.
+ */
+public class UserActivityBenchmark {
+
+    private static final int ITERATIONS = 20;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String ACTIVITY_SQL =
+            "SELECT created_at, author_id FROM threads WHERE created_at >= ? AND created_at < ? " +
+            "UNION ALL " +
+            "SELECT created_at, author_id FROM comments WHERE created_at >= ? AND created_at < ?";
+
+    public static void main(String[] args) {
+        int memberCount = Integer.getInteger("bench.members", 5_000);
+        int threadCount = Integer.getInteger("bench.threads", 20_000);
+        int commentCount = Integer.getInteger("bench.comments", 200_000);
+
+        String[] appArgs = Arrays.copyOf(args, args.length + 3);
+        appArgs[args.length] = "--server.port=0";
+        appArgs[args.length + 1] = "--spring.jpa.show-sql=false";
+        appArgs[args.length + 2] = "--logging.level.root=WARN";
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(ForumApplication.class, appArgs)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            PeriodBucketingEngine engine = context.getBean(PeriodBucketingEngine.class);
+            UserActivityService userActivityService = context.getBean(UserActivityService.class);
+
+            LocalDate endDate = LocalDate.now();
+            LocalDate startDate = endDate.minusYears(1).plusDays(1);
+
+            System.out.printf("Generating a year of data: %d members, %d threads, %d comments%n",
+                    memberCount, threadCount, commentCount);
+            generateYear(context, jdbcTemplate, new Random(42), startDate, memberCount, threadCount, commentCount);
+
+            context.getBean(ActivityRollupService.class).rebuild(
+                    startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+            context.getBean(ActiveUserSketchService.class).rebuild(startDate, endDate.plusDays(1));
+
+            System.out.printf("%-7s %-20s %10s %10s%n", "period", "strategy", "p50 ms", "p95 ms");
+            for (ActivityPeriod period : ActivityPeriod.values()) {
+                UserActivitySeries separate = separateScans(engine, startDate, endDate, period);
+                UserActivitySeries combined = userActivityService.scan(startDate, endDate, period);
+                if (!sameValues(separate, combined)) {
+                    throw new IllegalStateException("Single pass disagrees with separate scans for " + period);
+                }
+
+                report(period, "separate scans", () -> separateScans(engine, startDate, endDate, period));
+                report(period, "single pass", () -> userActivityService.scan(startDate, endDate, period));
+                report(period, "service (cached)", () -> userActivityService.getUserActivity(startDate, endDate, period));
+            }
+        }
+    }
+
+    // One statement per series, as the controller issued before the combined scan
+    private static UserActivitySeries separateScans(
+            PeriodBucketingEngine engine, LocalDate startDate, LocalDate endDate, ActivityPeriod period) {
+        Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+        UserActivitySeries series = new UserActivitySeries(period, startDate, endDate);
+        count(engine, series.getRegistrations(),
+                "SELECT created_at FROM members WHERE created_at >= ? AND created_at < ?", start, end);
+        count(engine, series.getThreads(),
+                "SELECT created_at FROM threads WHERE created_at >= ? AND created_at < ?", start, end);
+        count(engine, series.getComments(),
+                "SELECT created_at FROM comments WHERE created_at >= ? AND created_at < ?", start, end);
+        countDistinct(engine, series.getActiveUsers(), ACTIVITY_SQL, start, end, start, end);
+        return series;
+    }
+
+    private static void count(PeriodBucketingEngine engine, PeriodSeries series, String sql, Object... args) {
+        long[] values = series.getValues();
+        engine.stream(sql, (createdAt, key) -> {
+            int index = series.indexOf(createdAt.toLocalDate());
+            if (index >= 0) {
+                values[index]++;
+            }
+        }, args);
+    }
+
+    private static void countDistinct(PeriodBucketingEngine engine, PeriodSeries series, String sql, Object... args) {
+        LongHashSet[] keys = new LongHashSet[series.getValues().length];
+        engine.stream(sql, (createdAt, key) -> {
+            int index = series.indexOf(createdAt.toLocalDate());
+            if (index >= 0) {
+                if (keys[index] == null) {
+                    keys[index] = new LongHashSet();
+                }
+                keys[index].add(key);
+            }
+        }, args);
+
+        long[] values = series.getValues();
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = keys[i] == null ? 0 : keys[i].size();
+        }
+    }
+
+    private static boolean sameValues(UserActivitySeries a, UserActivitySeries b) {
+        return Arrays.equals(a.getRegistrations().getValues(), b.getRegistrations().getValues())
+                && Arrays.equals(a.getThreads().getValues(), b.getThreads().getValues())
+                && Arrays.equals(a.getComments().getValues(), b.getComments().getValues())
+                && Arrays.equals(a.getActiveUsers().getValues(), b.getActiveUsers().getValues());
+    }
+
+    private static void report(ActivityPeriod period, String strategy, Supplier<UserActivitySeries> run) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run.get();
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            run.get();
+            latencies[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-7s %-20s %10.2f %10.2f%n",
+                period.name().toLowerCase(), strategy,
+                millis(latencies[latencies.length / 2]),
+                millis(latencies[(int) (latencies.length * 0.95)]));
+    }
+
+    private static void generateYear(
+            ConfigurableApplicationContext context,
+            JdbcTemplate jdbcTemplate,
+            Random random,
+            LocalDate startDate,
+            int memberCount,
+            int threadCount,
+            int commentCount) {
+        String suffix = Long.toString(System.currentTimeMillis(), 36);
+        LocalDateTime yearStart = startDate.atStartOfDay();
+        long yearSeconds = 365L * 24 * 3600;
+
+        Member owner = new Member();
+        owner.setName("bench-" + suffix);
+        owner.setEmail("bench-" + suffix + "@example.com");
+        owner.setPassword("benchmark");
+        owner.setCreatedAt(yearStart);
+        owner = context.getBean(MemberRepository.class).save(owner);
+
+        Forum forum = new Forum();
+        forum.setTitle("Analytics benchmark " + suffix);
+        forum.setDescription("Generated activity");
+        forum.setCategory(ForumCategory.values()[0]);
+        forum.setCreatedBy(owner);
+        forum = context.getBean(ForumRepository.class).save(forum);
+
+        Thread thread = new Thread();
+        thread.setTitle("Analytics benchmark " + suffix);
+        thread.setContent("Generated activity");
+        thread.setForum(forum);
+        thread.setAuthor(owner);
+        thread.setCreatedBy(owner);
+        thread = context.getBean(ThreadRepository.class).save(thread);
+
+        Post post = new Post();
+        post.setContent("Generated activity");
+        post.setThread(thread);
+        post.setCreatedBy(owner);
+        post.setActive(true);
+        post = context.getBean(PostRepository.class).save(post);
+
+        List<Object[]> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            members.add(new Object[]{"bench-" + suffix + "-" + i, "bench-" + suffix + "-" + i + "@example.com",
+                    "benchmark", randomTime(random, yearStart, yearSeconds)});
+        }
+        batchInsert(jdbcTemplate,
+                "INSERT INTO members (name, email, password, created_at, active, admin) VALUES (?, ?, ?, ?, true, false)",
+                members);
+        Long firstMemberId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM members WHERE name LIKE ?", Long.class, "bench-" + suffix + "-%");
+
+        List<Object[]> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new Object[]{"Generated thread " + i, randomTime(random, yearStart, yearSeconds),
+                    forum.getId(), author(random, firstMemberId, memberCount), owner.getId()});
+        }
+        batchInsert(jdbcTemplate,
+                "INSERT INTO threads (title, created_at, forum_id, author_id, created_by_id, pinned, locked, view_count) " +
+                "VALUES (?, ?, ?, ?, ?, false, false, 0)",
+                threads);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(new Object[]{"Generated comment " + i, randomTime(random, yearStart, yearSeconds),
+                    post.getId(), thread.getId(), author(random, firstMemberId, memberCount)});
+        }
+        batchInsert(jdbcTemplate,
+                "INSERT INTO comments (content, created_at, post_id, thread_id, author_id, edited) VALUES (?, ?, ?, ?, ?, false)",
+                comments);
+    }
+
+    private static void batchInsert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static Timestamp randomTime(Random random, LocalDateTime yearStart, long yearSeconds) {
+        return Timestamp.valueOf(yearStart.plusSeconds((long) (random.nextDouble() * yearSeconds)));
+    }
+
+    // Skewed so a minority of members produce most of the activity
+    private static long author(Random random, long firstMemberId, int memberCount) {
+        return firstMemberId + (long) (Math.pow(random.nextDouble(), 2) * memberCount);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
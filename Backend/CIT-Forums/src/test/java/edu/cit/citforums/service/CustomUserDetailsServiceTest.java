@@ -0,0 +1,79 @@
+package edu.cit.citforums.service;
+
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTest {
+
+    private static final String EMAIL = "ana@cit.edu";
+
+    private MemberRepository memberRepository;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        service = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(service, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(service, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+    }
+
+    @Test
+    void loadedMemberIsCached() {
+        when(memberRepository.findByEmail(EMAIL)).thenReturn(Optional.of(member(7L, "old-hash")));
+
+        service.loadUserByUsername(EMAIL);
+        service.loadUserByUsername(EMAIL);
+
+        assertEquals(1, service.getCacheStats().getMisses());
+        assertEquals(1, service.getCacheStats().getHits());
+    }
+
+    @Test
+    void loadOverlappingEvictionIsNotCached() {
+        // The member changes and is evicted after the old row was read but before it is cached
+        when(memberRepository.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            Member stale = member(7L, "old-hash");
+            service.evict(7L);
+            return Optional.of(stale);
+        });
+        service.loadUserByUsername(EMAIL);
+
+        when(memberRepository.findByEmail(EMAIL)).thenReturn(Optional.of(member(7L, "new-hash")));
+        assertEquals("new-hash", service.loadUserByUsername(EMAIL).getPassword());
+        assertEquals(2, service.getCacheStats().getMisses());
+    }
+
+    @Test
+    void evictionOfAnotherMemberDoesNotAffectLoad() {
+        when(memberRepository.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            service.evict(8L);
+            return Optional.of(member(7L, "hash"));
+        });
+
+        service.loadUserByUsername(EMAIL);
+        service.loadUserByUsername(EMAIL);
+
+        assertEquals(1, service.getCacheStats().getHits());
+    }
+
+    private static Member member(Long id, String password) {
+        Member member = new Member();
+        member.setId(id);
+        member.setEmail(EMAIL);
+        member.setName("ana");
+        member.setPassword(password);
+        member.setActive(true);
+        return member;
+    }
+}
@@ -0,0 +1,134 @@
+package edu.cit.citforums.service;
+
+import edu.cit.citforums.models.Member;
+import edu.cit.citforums.models.RefreshToken;
+import edu.cit.citforums.repository.MemberRepository;
+import edu.cit.citforums.repository.RefreshTokenRepository;
+import edu.cit.citforums.security.InvalidRefreshTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final long MEMBER_ID = 7L;
+
+    // Rows of the refresh_tokens table, backing the mocked repository
+    private final List<RefreshToken> rows = new ArrayList<>();
+    private Member member;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            if (!rows.contains(token)) {
+                rows.add(token);
+            }
+            return token;
+        });
+        when(refreshTokenRepository.findForUpdate(any(byte[].class))).thenAnswer(invocation -> {
+            byte[] hash = invocation.getArgument(0);
+            return rows.stream().filter(row -> Arrays.equals(row.getTokenHash(), hash)).findFirst();
+        });
+        when(refreshTokenRepository.deleteFamily(anyString())).thenAnswer(invocation -> {
+            String familyId = invocation.getArgument(0);
+            int before = rows.size();
+            rows.removeIf(row -> row.getFamilyId().equals(familyId));
+            return before - rows.size();
+        });
+
+        member = new Member();
+        member.setId(MEMBER_ID);
+        member.setActive(true);
+        MemberRepository memberRepository = mock(MemberRepository.class);
+        when(memberRepository.findById(MEMBER_ID)).thenAnswer(invocation -> Optional.of(member));
+
+        service = new RefreshTokenService(refreshTokenRepository, memberRepository);
+        ReflectionTestUtils.setField(service, "refreshExpirationMs", 60_000L);
+    }
+
+    @Test
+    void rotateReplacesTokenInSameFamily() {
+        String first = service.issue(MEMBER_ID);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertEquals(MEMBER_ID, rotation.member().getId());
+        assertNotNull(rotation.refreshToken());
+        assertNotEquals(first, rotation.refreshToken());
+        assertEquals(2, rows.size());
+        assertEquals(rows.get(0).getFamilyId(), rows.get(1).getFamilyId());
+        assertNotNull(rows.get(0).getUsedAt());
+        assertNull(rows.get(1).getUsedAt());
+
+        // The replacement rotates in turn
+        assertNotNull(service.rotate(rotation.refreshToken()).refreshToken());
+    }
+
+    @Test
+    void reusedTokenRevokesWholeFamily() {
+        String first = service.issue(MEMBER_ID);
+        String second = service.rotate(first).refreshToken();
+        String otherLogin = service.issue(MEMBER_ID);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(first));
+
+        // The legitimate replacement is gone too; another login's family is untouched
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(second));
+        assertEquals(1, rows.size());
+        assertNotNull(service.rotate(otherLogin).refreshToken());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = service.issue(MEMBER_ID);
+        rows.get(0).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(token));
+        assertNull(rows.get(0).getUsedAt());
+    }
+
+    @Test
+    void inactiveMemberCannotRefresh() {
+        String token = service.issue(MEMBER_ID);
+        member.setActive(false);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(token));
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("not-a-token"));
+    }
+
+    @Test
+    void logoutRevokesFamily() {
+        String first = service.issue(MEMBER_ID);
+        String second = service.rotate(first).refreshToken();
+
+        service.revokeFamily(second);
+
+        assertTrue(rows.isEmpty());
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(second));
+    }
+}
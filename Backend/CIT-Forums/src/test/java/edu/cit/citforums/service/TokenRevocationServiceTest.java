@@ -0,0 +1,64 @@
+package edu.cit.citforums.service;
+
+import edu.cit.citforums.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.findUnexpiredIds(any(LocalDateTime.class))).thenReturn(List.of("local"));
+        when(revokedTokenRepository.isRevoked(anyString(), any(LocalDateTime.class))).thenReturn(true);
+        service = new TokenRevocationService(revokedTokenRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "expectedTokens", 1000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.0001);
+    }
+
+    @Test
+    void unknownIdsAreAnsweredByTheFilter() {
+        service.rebuild();
+
+        assertTrue(service.isRevoked("local"));
+        assertFalse(service.isRevoked("unknown"));
+        verify(revokedTokenRepository, never()).isRevoked(eq("unknown"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void syncAddsIdsRevokedOnOtherInstances() {
+        service.rebuild();
+        assertFalse(service.isRevoked("remote"));
+
+        when(revokedTokenRepository.findIdsRevokedSince(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of("remote"));
+        service.syncRecent();
+
+        assertTrue(service.isRevoked("remote"));
+    }
+
+    @Test
+    void syncWaitsForTheFirstRebuild() {
+        service.syncRecent();
+
+        verify(revokedTokenRepository, never()).findIdsRevokedSince(any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,48 @@
+package edu.cit.citforums.service.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void maxOccurredAtIsNotTheLastRecord() throws Exception {
+        Path file = directory.resolve("activity-00000000000000000000.journal");
+        JournalSegment segment = JournalSegment.open(file, 0, 16);
+        assertEquals(Long.MIN_VALUE, segment.maxOccurredAt());
+
+        // A transaction that started later can commit first
+        segment.append(2_000L, 1, 10, 0, 0, 0);
+        segment.append(1_000L, 2, 11, 0, 0, 0);
+        assertEquals(2_000L, segment.maxOccurredAt());
+        segment.close();
+
+        JournalSegment reopened = JournalSegment.open(file, 0, 16);
+        assertEquals(2, reopened.getCount());
+        assertEquals(2_000L, reopened.maxOccurredAt());
+
+        List<Long> entityIds = new ArrayList<>();
+        reopened.forEach((sequence, type, occurredAt, memberId, entityId, forumId, threadId) -> entityIds.add(entityId));
+        assertEquals(List.of(10L, 11L), entityIds);
+        reopened.close();
+    }
+
+    @Test
+    void fillsUpToCapacity() throws Exception {
+        JournalSegment segment = JournalSegment.open(directory.resolve("activity-00000000000000000000.journal"), 0, 2);
+        segment.append(1L, 0, 0, 0, 0, 0);
+        segment.append(2L, 0, 0, 0, 0, 0);
+        assertTrue(segment.isFull());
+        segment.close();
+    }
+}
@@ -0,0 +1,86 @@
+package edu.cit.citforums.service.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class UserActivityServiceTest {
+
+    // Start and end of every combined scan, in call order
+    private final List<LocalDate[]> scans = new ArrayList<>();
+    private ActivityRollupService activityRollupService;
+    private UserActivityService service;
+
+    @BeforeEach
+    void setUp() {
+        PeriodBucketingEngine bucketingEngine = mock(PeriodBucketingEngine.class);
+        doAnswer(invocation -> {
+            LocalDate from = ((Timestamp) invocation.getArgument(2)).toLocalDateTime().toLocalDate();
+            LocalDate to = ((Timestamp) invocation.getArgument(3)).toLocalDateTime().toLocalDate();
+            scans.add(new LocalDate[]{from, to});
+            // One comment by a different member on every day scanned
+            PeriodBucketingEngine.TaggedRowHandler handler = invocation.getArgument(1);
+            for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+                handler.accept(2, day.atTime(12, 0), day.toEpochDay());
+            }
+            return null;
+        }).when(bucketingEngine).streamTagged(anyString(), any(), any(Object[].class));
+
+        activityRollupService = mock(ActivityRollupService.class);
+        service = new UserActivityService(activityRollupService, mock(ActiveUserSketchService.class), bucketingEngine);
+        ReflectionTestUtils.setField(service, "exactMaxDays", 60);
+        ReflectionTestUtils.setField(service, "settleMinutes", 0);
+    }
+
+    @Test
+    void warmCacheOnlyScansPartialAndOpenPeriods() {
+        LocalDate endDate = LocalDate.now();
+        LocalDate currentWeek = endDate.with(DayOfWeek.MONDAY);
+        LocalDate startDate = currentWeek.minusWeeks(4).plusDays(2);
+
+        UserActivitySeries cold = service.getUserActivity(startDate, endDate, ActivityPeriod.WEEK);
+        assertEquals(1, scans.size());
+        scans.clear();
+
+        UserActivitySeries warm = service.getUserActivity(startDate, endDate, ActivityPeriod.WEEK);
+
+        // The leading partial week and the current week, each scanned on its own; the closed weeks come from the cache
+        assertEquals(2, scans.size());
+        assertArrayEquals(new LocalDate[]{startDate, currentWeek.minusWeeks(3)}, scans.get(0));
+        assertArrayEquals(new LocalDate[]{currentWeek, endDate.plusDays(1)}, scans.get(1));
+        assertArrayEquals(cold.getComments().getValues(), warm.getComments().getValues());
+        assertArrayEquals(cold.getActiveUsers().getValues(), warm.getActiveUsers().getValues());
+        assertEquals(7, warm.getActiveUsers().getValues()[1]);
+        verifyNoInteractions(activityRollupService);
+    }
+
+    @Test
+    void cachedPeriodsAreNotSharedBetweenExactAndEstimatedRanges() {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.with(DayOfWeek.MONDAY).minusWeeks(3);
+        service.getUserActivity(startDate, endDate, ActivityPeriod.WEEK);
+        scans.clear();
+
+        // A range too long for an exact scan estimates every period instead of reusing the exact ones
+        ReflectionTestUtils.setField(service, "exactMaxDays", 7);
+        service.getUserActivity(startDate, endDate, ActivityPeriod.WEEK);
+
+        assertEquals(0, scans.size());
+        verify(activityRollupService).addCounts(any(UserActivitySeries.class));
+    }
+}
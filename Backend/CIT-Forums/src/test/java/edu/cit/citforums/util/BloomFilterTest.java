@@ -0,0 +1,59 @@
+package edu.cit.citforums.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final int PROBES = 200_000;
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        String[] values = new String[INSERTIONS];
+        for (int i = 0; i < INSERTIONS; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.add(values[i]);
+        }
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsNearConfigured() {
+        for (double configured : new double[]{0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(INSERTIONS, configured);
+            for (int i = 0; i < INSERTIONS; i++) {
+                filter.add("added-" + i);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < PROBES; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+            double observed = (double) falsePositives / PROBES;
+            assertTrue(observed < configured * 1.5, "observed " + observed + " for " + configured);
+            assertTrue(observed > configured * 0.5, "observed " + observed + " for " + configured);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        assertFalse(filter.mightContain("anything"));
+    }
+
+    @Test
+    void rejectsInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(INSERTIONS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(INSERTIONS, 1));
+    }
+}
@@ -0,0 +1,77 @@
+package edu.cit.citforums.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentHistogramTest {
+
+    private static final double TOLERANCE = 0.03;
+
+    @Test
+    void quantilesWithinThreePercent() {
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal, like request latencies in microseconds
+            values[i] = (long) Math.exp(8 + 1.5 * random.nextGaussian());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.getTotalCount());
+        for (double q : new double[]{0.01, 0.25, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            double reported = snapshot.quantile(q);
+            assertTrue(Math.abs(reported - exact) <= exact * TOLERANCE + 1,
+                    "q" + q + ": " + reported + " vs " + exact);
+        }
+        double max = snapshot.max();
+        long exactMax = values[values.length - 1];
+        assertTrue(max >= exactMax && max <= exactMax * (1 + 2 * TOLERANCE), max + " vs " + exactMax);
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (long value = 0; value < 16; value++) {
+            histogram.record(value);
+        }
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(7.0, snapshot.quantile(0.5));
+        assertEquals(15.0, snapshot.max());
+    }
+
+    @Test
+    void emptyAndClamped() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        assertTrue(Double.isNaN(histogram.snapshot().quantile(0.5)));
+        assertTrue(Double.isNaN(histogram.snapshot().max()));
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(ConcurrentHistogram.MAX_VALUE, histogram.snapshot().max());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getTotalCount());
+    }
+
+    @Test
+    void snapshotsMerge() {
+        ConcurrentHistogram first = new ConcurrentHistogram();
+        ConcurrentHistogram second = new ConcurrentHistogram();
+        first.record(100);
+        second.record(1000);
+
+        ConcurrentHistogram.Snapshot merged = first.snapshot();
+        merged.add(second);
+
+        assertEquals(2, merged.getTotalCount());
+        assertTrue(merged.max() >= 1000);
+    }
+}
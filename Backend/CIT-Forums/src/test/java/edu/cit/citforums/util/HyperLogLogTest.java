@@ -0,0 +1,93 @@
+package edu.cit.citforums.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void errorWithinTwoPercentAtDefaultPrecision() {
+        // One sketch is off by the standard error (1.6%) about a third of the time, so judge several
+        Random random = new Random(7);
+        int trials = 20;
+        for (int count : new int[]{1_000, 10_000, 11_000, 12_000, 100_000, 1_000_000}) {
+            double errorSum = 0;
+            double squaredErrorSum = 0;
+            for (int trial = 0; trial < trials; trial++) {
+                HyperLogLog sketch = new HyperLogLog();
+                for (int i = 0; i < count; i++) {
+                    sketch.add(random.nextLong());
+                }
+                double error = (double) (sketch.estimate() - count) / count;
+                errorSum += error;
+                squaredErrorSum += error * error;
+            }
+            double meanError = errorSum / trials;
+            double rmsError = Math.sqrt(squaredErrorSum / trials);
+            assertTrue(Math.abs(meanError) <= 0.02, count + ": mean error " + meanError);
+            assertTrue(rmsError <= 1.5 * HyperLogLog.standardError(HyperLogLog.DEFAULT_PRECISION),
+                    count + ": rms error " + rmsError);
+        }
+    }
+
+    @Test
+    void duplicatesAreNotCounted() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 10; round++) {
+            for (long id = 1; id <= 500; id++) {
+                sketch.add(id);
+            }
+        }
+        // Linear counting keeps small counts close to exact
+        assertTrue(Math.abs(sketch.estimate() - 500) <= 5, "estimated " + sketch.estimate());
+    }
+
+    @Test
+    void mergeIsIdempotent() {
+        HyperLogLog first = sketchOf(0, 20_000);
+        HyperLogLog second = sketchOf(10_000, 30_000);
+
+        HyperLogLog once = first.copy();
+        once.merge(second);
+        HyperLogLog twice = once.copy();
+        twice.merge(second);
+        twice.merge(first);
+
+        assertArrayEquals(once.toBytes(), twice.toBytes());
+        HyperLogLog self = first.copy();
+        self.merge(first);
+        assertEquals(first.estimate(), self.estimate());
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog union = sketchOf(0, 50_000);
+        union.merge(sketchOf(25_000, 75_000));
+
+        assertTrue(Math.abs(union.estimate() - 75_000) <= 75_000 * 0.02, "estimated " + union.estimate());
+    }
+
+    @Test
+    void survivesSerialization() {
+        HyperLogLog sketch = sketchOf(0, 5_000);
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertTrue(new HyperLogLog().isEmpty());
+        assertFalse(sketch.isEmpty());
+    }
+
+    private static HyperLogLog sketchOf(long fromInclusive, long toExclusive) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = fromInclusive; id < toExclusive; id++) {
+            sketch.add(id);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.cit.citforums.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void countsDistinctValues() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.add(-5));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertTrue(set.add(Long.MAX_VALUE));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    void zeroIsAnOrdinaryValue() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(1));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void matchesHashSetWhileGrowing() {
+        Random random = new Random(3);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Narrow range so many values repeat
+            long value = random.nextInt(100_000) - 50_000L;
+            assertEquals(expected.add(value), set.add(value), "value " + value);
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    void handlesValuesThatCollideInLowBits() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 1; i <= 10_000; i++) {
+            assertTrue(set.add(i << 32));
+        }
+        assertEquals(10_000, set.size());
+    }
+}
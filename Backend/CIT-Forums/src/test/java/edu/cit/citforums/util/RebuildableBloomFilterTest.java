@@ -0,0 +1,42 @@
+package edu.cit.citforums.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RebuildableBloomFilterTest {
+
+    @Test
+    void everythingMightBeContainedBeforeFirstRebuild() {
+        assertTrue(new RebuildableBloomFilter().mightContain("anything"));
+    }
+
+    @Test
+    void valuesAddedDuringRebuildReachTheNewFilter() {
+        RebuildableBloomFilter filter = new RebuildableBloomFilter();
+        filter.startRebuild();
+        BloomFilter rebuilt = new BloomFilter(100, 0.001);
+        rebuilt.add("loaded");
+        filter.add("added meanwhile");
+        filter.finishRebuild(rebuilt);
+
+        assertTrue(filter.mightContain("loaded"));
+        assertTrue(filter.mightContain("added meanwhile"));
+        assertFalse(filter.mightContain("never added"));
+    }
+
+    @Test
+    void cancelledRebuildKeepsCurrentFilter() {
+        RebuildableBloomFilter filter = new RebuildableBloomFilter();
+        filter.startRebuild();
+        filter.finishRebuild(new BloomFilter(100, 0.001));
+
+        filter.startRebuild();
+        filter.add("added meanwhile");
+        filter.cancelRebuild();
+
+        assertTrue(filter.mightContain("added meanwhile"));
+        assertFalse(filter.mightContain("never added"));
+    }
+}
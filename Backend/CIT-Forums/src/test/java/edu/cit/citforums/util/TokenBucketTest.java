@@ -0,0 +1,72 @@
+package edu.cit.citforums.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long START = 1_000_000_000L;
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void drainsAfterCapacityTakes() {
+        TokenBucket bucket = new TokenBucket(5, 10, START);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(START), "take " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(START));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(5, 10, START);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(START);
+        }
+
+        assertTrue(bucket.tryAcquire(START + INTERVAL - 1) > 0);
+        assertEquals(0, bucket.tryAcquire(START + INTERVAL));
+        assertEquals(INTERVAL, bucket.tryAcquire(START + INTERVAL));
+
+        // Three intervals later three more tokens are available, not more
+        long later = START + 4 * INTERVAL;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later), "take " + i);
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void isFullOnlyWhenFullyRefilled() {
+        TokenBucket bucket = new TokenBucket(5, 10, START);
+        assertTrue(bucket.isFull(START));
+
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+        assertFalse(bucket.isFull(START));
+        assertFalse(bucket.isFull(START + 2 * INTERVAL - 1));
+        assertTrue(bucket.isFull(START + 2 * INTERVAL));
+    }
+
+    @Test
+    void idleTimeDoesNotGrowBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, START);
+        long muchLater = START + TimeUnit.HOURS.toNanos(1);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(muchLater), "take " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(muchLater));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, START));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, START));
+    }
+}